@@ -635,6 +635,49 @@ public class GeneratedFileManager
 		return _buildDeps.getValues(parent);
 	}
 
+	/**
+	 * Get the files generated during build from the specified parent file and from no other
+	 * file, so that they can be kept when the parent file is not processed again.
+	 *
+	 * @param parent -
+	 *            the parent file that you want to get generated files for
+	 * @return the files generated by this parent only, possibly empty, or null if some file
+	 *         generated by this parent has other parents or does not exist anymore.
+	 */
+	public synchronized Set<IFile> getFilesGeneratedOnlyFrom(IFile parent)
+	{
+		Set<IFile> generatedFiles = _buildDeps.getValues(parent);
+		for (IFile generatedFile : generatedFiles) {
+			if (_buildDeps.valueHasOtherKeys(generatedFile, parent) || !generatedFile.exists()) {
+				return null;
+			}
+		}
+		return generatedFiles;
+	}
+
+	/**
+	 * @return the fingerprint of the specified file when it was last processed during build,
+	 *         or null if it must be processed again.
+	 * @see #setFingerprint(IFile, String)
+	 */
+	public String getFingerprint(IFile f)
+	{
+		return _buildDeps.getFingerprint(f);
+	}
+
+	/**
+	 * Remember the fingerprint of a file processed during build, so that the next builds
+	 * can tell whether it must be processed again. The fingerprint is serialized along with
+	 * the build dependencies.
+	 *
+	 * @param fingerprint
+	 *            null to forget the fingerprint of the file
+	 */
+	public void setFingerprint(IFile f, String fingerprint)
+	{
+		_buildDeps.setFingerprint(f, fingerprint);
+	}
+
 	/**
 	 * returns true if the specified file is a generated file (i.e., it has one or more
 	 * parent files)
@@ -1416,6 +1459,7 @@ public class GeneratedFileManager
 				toDelete.add(childFile);
 			}
 		}
+		_buildDeps.setFingerprint(f, null);
 		boolean removed = _buildDeps.removeKey(f);
 		if (removed) {
 			if (AptPlugin.DEBUG_GFM_MAPS) AptPlugin.trace(
@@ -47,12 +47,17 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 	}
 
 	// Version 2 since Eclipse 3.3.1: add ability to track attributes of generated files
-	private static final int SERIALIZATION_VERSION = 2;
+	// Version 3: add the fingerprints of the processed files
+	private static final int SERIALIZATION_VERSION = 3;
 
 	private final IProject _proj;
 
 	private final Map<IFile, Set<Flags>> _flags = new HashMap<>();
 
+	private final Map<IFile, String> _fingerprints = new HashMap<>();
+
+	private boolean _fingerprintsDirty = false;
+
 	private final boolean _isTestCode;
 
 	public GeneratedFileMap(IProject proj, boolean isTestCode) {
@@ -67,9 +72,30 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 	@Override
 	public synchronized boolean clear() {
 		_flags.clear();
+		if (!_fingerprints.isEmpty()) {
+			_fingerprints.clear();
+			_fingerprintsDirty = true;
+		}
 		return super.clear();
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.apt.core.internal.util.ManyToMany#clearDirtyBit()
+	 */
+	@Override
+	public synchronized void clearDirtyBit() {
+		_fingerprintsDirty = false;
+		super.clearDirtyBit();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.apt.core.internal.util.ManyToMany#isDirty()
+	 */
+	@Override
+	public synchronized boolean isDirty() {
+		return _fingerprintsDirty || super.isDirty();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.apt.core.internal.util.ManyToMany#remove(java.lang.Object, java.lang.Object)
 	 */
@@ -166,6 +192,25 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 		return flags == null ? Collections.<Flags>emptySet() : flags;
 	}
 
+	/**
+	 * @return the fingerprint of the given file when it was last processed, or null
+	 * if it was not processed or must be processed again.
+	 */
+	public synchronized String getFingerprint(IFile file) {
+		return _fingerprints.get(file);
+	}
+
+	/**
+	 * Remember the fingerprint of a file that was processed, or forget it if
+	 * <code>fingerprint</code> is null.
+	 */
+	public synchronized void setFingerprint(IFile file, String fingerprint) {
+		String previous = fingerprint == null ? _fingerprints.remove(file) : _fingerprints.put(file, fingerprint);
+		if (fingerprint == null ? previous != null : !fingerprint.equals(previous)) {
+			_fingerprintsDirty = true;
+		}
+	}
+
 	/**
 	 * Convenience method, equivalent to !getFlags(generated).contains(Flags.NONSOURCE)
 	 * @return true if the generated file is a source (Java) file rather than text, xml, etc.
@@ -212,6 +257,13 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 	 *    String parentIFilePath
 	 *    int numberOfChildren
 	 *      String childIFilePath
+	 * int sizeOfFlags
+	 *    String childIFilePath
+	 *    int numberOfFlags
+	 *      String flag
+	 * int sizeOfFingerprints (since version 3)
+	 *    String processedIFilePath
+	 *    String fingerprint
 	 *
 	 * This method is not synchronized because it is called only from this object's constructor.
 	 */
@@ -225,7 +277,8 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 		try {
 			in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
 			int version = in.readInt();
-			if (version != SERIALIZATION_VERSION) {
+			// version 2 is read as well, without fingerprints
+			if (version != SERIALIZATION_VERSION && version != 2) {
 				throw new IOException("Dependency map file version does not match. Expected "  //$NON-NLS-1$
 						+ SERIALIZATION_VERSION + ", but found " + version); //$NON-NLS-1$
 			}
@@ -264,6 +317,15 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 				_flags.put(child, flags);
 			}
 
+			// And the fingerprints of the processed files:
+			if (version >= 3) {
+				int sizeOfFingerprints = in.readInt();
+				for (int i = 0; i < sizeOfFingerprints; ++i) {
+					IFile processed = convertPathToIFile(in.readUTF());
+					_fingerprints.put(processed, in.readUTF());
+				}
+			}
+
 			// our serialized and in-memory states are now identical
 			clearDirtyBit();
 		}
@@ -345,6 +407,16 @@ public class GeneratedFileMap extends ManyToMany<IFile, IFile> {
 				}
 			}
 
+			// Number of processed files with a fingerprint
+			out.writeInt(_fingerprints.size());
+
+			// for each processed file...
+			for (Entry<IFile, String> entry : _fingerprints.entrySet()) {
+				// ...processed file name and fingerprint
+				out.writeUTF(convertIFileToPath(entry.getKey()));
+				out.writeUTF(entry.getValue());
+			}
+
 			// our serialized and in-memory states are now identical
 			clearDirtyBit();
 			out.flush();
@@ -16,15 +16,22 @@
 
 package org.eclipse.jdt.internal.apt.pluggable.core.dispatch;
 
+import java.io.File;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import javax.annotation.processing.Processor;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.apt.core.internal.AnnotationProcessorFactoryLoader;
 import org.eclipse.jdt.apt.core.internal.IServiceFactory;
+import org.eclipse.jdt.apt.core.internal.JarFactoryContainer;
+import org.eclipse.jdt.apt.core.internal.util.FactoryContainer;
+import org.eclipse.jdt.apt.core.internal.util.FactoryContainer.FactoryType;
 import org.eclipse.jdt.apt.core.internal.util.FactoryPath;
+import org.eclipse.jdt.apt.core.internal.util.FactoryPathUtil;
 import org.eclipse.jdt.apt.core.internal.util.FactoryPath.Attributes;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.internal.apt.pluggable.core.Apt6Plugin;
@@ -36,6 +43,7 @@ import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.core.CompilationUnitProblemFinder;
 import org.eclipse.jdt.internal.core.builder.ICompilationUnitLocator;
+import org.osgi.framework.Bundle;
 
 /**
  * Java 6 annotation processor manager used when compiling within the IDE.
@@ -47,6 +55,8 @@ public class IdeAnnotationProcessorManager extends BaseAnnotationProcessorManage
 	private ICompilationUnitLocator _cuLocator;
 	private Map<IServiceFactory, FactoryPath.Attributes> _processorFactories;
 	private Iterator<Entry<IServiceFactory, Attributes>> _processorIter;
+	private IncrementalProcessingFilter _incrementalFilter;
+	private boolean _processorFailed;
 
 	/**
 	 * Initialize the processor manager for a particular project.  It is an error
@@ -104,6 +114,7 @@ public class IdeAnnotationProcessorManager extends BaseAnnotationProcessorManage
 
 	@Override
 	public void reportProcessorException(Processor p, Exception e) {
+		_processorFailed = true;
 		Apt6Plugin.log(e, "Exception thrown by Java annotation processor " + p); //$NON-NLS-1$
 	}
 
@@ -120,6 +131,10 @@ public class IdeAnnotationProcessorManager extends BaseAnnotationProcessorManage
 	 * then we can avoid doing the work of walking the ASTs to search for annotations.  We still
 	 * need to clean up no-longer-generated files when the factory path is changed, but the best
 	 * way to do that is to force a clean build.
+	 * <p>
+	 * When incremental processing is enabled, the units whose processing would generate the same
+	 * files as in the previous build are not processed again during build.
+	 * @see IncrementalProcessingFilter
 	 * @see BaseAnnotationProcessorManager#processAnnotations(CompilationUnitDeclaration[], ReferenceBinding[], boolean)
 	 */
 	@Override
@@ -127,9 +142,44 @@ public class IdeAnnotationProcessorManager extends BaseAnnotationProcessorManage
 		if (null == _processorFactories ) {
 			_processorFactories = AnnotationProcessorFactoryLoader.getLoader().getJava6FactoriesAndAttributesForProject(_javaProject);
 			_processorIter = _processorFactories.entrySet().iterator();
+			if (IncrementalProcessingFilter.ENABLED && _processingEnv instanceof IdeBuildProcessingEnvImpl) {
+				_incrementalFilter = createIncrementalFilter((IdeProcessingEnvImpl) _processingEnv);
+			}
 		}
 		if (!_processorFactories.isEmpty()) {
+			if (_incrementalFilter != null && units != null) {
+				units = _incrementalFilter.filter(units);
+			}
 			super.processAnnotations(units, referenceBindings, isLastRound);
+			if (_incrementalFilter != null && isLastRound) {
+				_incrementalFilter.recordProcessedUnits(!_processorFailed && !_processingEnv.errorRaised());
+			}
+		}
+	}
+
+	private IncrementalProcessingFilter createIncrementalFilter(IdeProcessingEnvImpl env) {
+		StringBuilder configuration = new StringBuilder();
+		for (IServiceFactory factory : _processorFactories.keySet()) {
+			configuration.append(factory).append('\n');
+		}
+		// a processor class may be replaced by a new version under the same name
+		for (FactoryContainer container : FactoryPathUtil.getFactoryPath(_javaProject).getEnabledContainers().keySet()) {
+			configuration.append(container.getType()).append(' ').append(container.getId());
+			if (container instanceof JarFactoryContainer jarContainer) {
+				File jar = jarContainer.getJarFile();
+				if (jar != null) {
+					configuration.append(' ').append(jar.lastModified()).append(' ').append(jar.length());
+				}
+			} else if (container.getType() == FactoryType.PLUGIN) {
+				Bundle bundle = Platform.getBundle(container.getId());
+				if (bundle != null) {
+					configuration.append(' ').append(bundle.getVersion()).append(' ').append(bundle.getLastModified());
+				}
+			}
+			configuration.append('\n');
 		}
+		configuration.append(new TreeMap<>(env.getOptions()));
+		return new IncrementalProcessingFilter(env.getAptProject().getGeneratedFileManager(env.isTestCode()),
+				env.getProject().getParent(), configuration.toString());
 	}
 }
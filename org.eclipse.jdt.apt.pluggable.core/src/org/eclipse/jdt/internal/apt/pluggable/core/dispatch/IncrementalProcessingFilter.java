@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.apt.pluggable.core.dispatch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.apt.core.internal.AptCompilationParticipant;
+import org.eclipse.jdt.apt.core.internal.generatedfile.GeneratedFileManager;
+import org.eclipse.jdt.internal.apt.pluggable.core.Apt6Plugin;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.eclipse.jdt.internal.compiler.lookup.FieldBinding;
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+
+/**
+ * Leaves out of the annotation processing of a build the compilation units whose processing
+ * would generate the same files as when they were last processed.
+ * <p>
+ * Processors see the declarations of a compilation unit but not the bodies of its methods, so
+ * the fingerprint of a unit is computed from its source without the method bodies, and from the
+ * processors, the jars or plug-ins they are loaded from and their options. Processors may also look
+ * into the types a unit depends on, e.g. to list inherited members, so the fingerprint also covers
+ * the members of the supertypes of its types and of the types of their fields and methods, wherever
+ * these are declared (another project, a library). A unit is processed again if its fingerprint changed since it was last
+ * processed, or if it refers to a type declared by a unit processed again earlier in the same
+ * build, e.g. when the builder compiles the dependents of a changed unit. The files generated from a unit that is not processed again are kept. A unit is always
+ * processed if some file generated from it has other parents, since an aggregating processor must
+ * see all the parents of a file, or if its last processing reported errors.
+ * </p>
+ * <p>
+ * This is only correct for processors that give the elements a file is generated from as the
+ * originating elements of the file, so it is enabled with
+ * <code>-Dorg.eclipse.jdt.apt.incremental_processing=true</code>.
+ * </p>
+ */
+public class IncrementalProcessingFilter {
+
+	public static boolean ENABLED = Boolean.getBoolean("org.eclipse.jdt.apt.incremental_processing"); //$NON-NLS-1$
+
+	private final GeneratedFileManager _gfm;
+	private final IContainer _root;
+	private final byte[] _configuration;
+
+	// the units processed during this build, in the same order as their files and fingerprints
+	private final List<CompilationUnitDeclaration> _processedUnits = new ArrayList<>();
+	private final List<IFile> _processedFiles = new ArrayList<>();
+	private final List<String> _processedFingerprints = new ArrayList<>();
+
+	// the names of the types declared by the units processed during this build
+	private final Set<String> _processedTypeNames = new HashSet<>();
+
+	// the structure of the types the units depend on, see structure(ReferenceBinding)
+	private final Map<ReferenceBinding, String> _structures = new HashMap<>();
+
+	/**
+	 * @param root the container of the projects, against which the file names of the units are resolved
+	 * @param configuration describes the processors and their options, so that the fingerprints
+	 * change when these change
+	 */
+	IncrementalProcessingFilter(GeneratedFileManager gfm, IContainer root, String configuration) {
+		_gfm = gfm;
+		_root = root;
+		_configuration = configuration.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the units that must be processed, and keeps the files generated from the others.
+	 */
+	CompilationUnitDeclaration[] filter(CompilationUnitDeclaration[] units) {
+		int length = units.length;
+		IFile[] files = new IFile[length];
+		String[] fingerprints = new String[length];
+		List<Set<String>> typeNames = new ArrayList<>(length);
+		List<Set<String>> identifiers = new ArrayList<>(length);
+		boolean[] mustProcess = new boolean[length];
+		Set<String> declaredTypeNames = new HashSet<>();
+		for (int i = 0; i < length; i++) {
+			CompilationUnitDeclaration unit = units[i];
+			Set<String> names = new HashSet<>();
+			typeNames.add(names);
+			ICompilationUnit sourceUnit = unit == null ? null : unit.compilationResult.compilationUnit;
+			char[] fileName = unit == null ? null : unit.getFileName();
+			char[] contents = sourceUnit == null ? null : sourceUnit.getContents();
+			if (fileName == null || contents == null) {
+				identifiers.add(Set.of());
+				mustProcess[i] = true;
+				continue;
+			}
+			char[] declarations = declarations(unit, contents, names);
+			declaredTypeNames.addAll(names);
+			identifiers.add(identifiers(declarations));
+			files[i] = _root.getFile(new Path(new String(fileName)));
+			fingerprints[i] = fingerprint(declarations, dependencies(unit));
+			mustProcess[i] = !fingerprints[i].equals(_gfm.getFingerprint(files[i]))
+					|| !Collections.disjoint(identifiers.get(i), _processedTypeNames);
+		}
+
+		// units referring to a type declared by a unit processed again must be processed again too
+		Map<String, List<Integer>> referringUnits = new HashMap<>();
+		for (int i = 0; i < length; i++) {
+			for (String identifier : identifiers.get(i)) {
+				if (declaredTypeNames.contains(identifier)) {
+					referringUnits.computeIfAbsent(identifier, k -> new ArrayList<>()).add(i);
+				}
+			}
+		}
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int i = 0; i < length; i++) {
+			if (mustProcess[i]) {
+				queue.add(i);
+			}
+		}
+		while (!queue.isEmpty()) {
+			for (String typeName : typeNames.get(queue.poll())) {
+				for (int referring : referringUnits.getOrDefault(typeName, List.of())) {
+					if (!mustProcess[referring]) {
+						mustProcess[referring] = true;
+						queue.add(referring);
+					}
+				}
+			}
+		}
+
+		List<CompilationUnitDeclaration> toProcess = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			Set<IFile> generatedFiles = mustProcess[i] ? null : _gfm.getFilesGeneratedOnlyFrom(files[i]);
+			if (generatedFiles == null) {
+				toProcess.add(units[i]);
+				_processedTypeNames.addAll(typeNames.get(i));
+				if (files[i] != null) {
+					_processedUnits.add(units[i]);
+					_processedFiles.add(files[i]);
+					_processedFingerprints.add(fingerprints[i]);
+				}
+			} else {
+				// spare the files generated from the unit from the deletion of no longer generated files
+				for (IFile generatedFile : generatedFiles) {
+					AptCompilationParticipant.getInstance().addJava6GeneratedFile(generatedFile);
+				}
+			}
+		}
+		if (Apt6Plugin.DEBUG) {
+			Apt6Plugin.trace("Incremental processing: " + (length - toProcess.size()) + " of " + length //$NON-NLS-1$ //$NON-NLS-2$
+					+ " compilation units are not processed again"); //$NON-NLS-1$
+		}
+		return toProcess.size() == length ? units : toProcess.toArray(new CompilationUnitDeclaration[toProcess.size()]);
+	}
+
+	/**
+	 * Remembers the fingerprints of the units processed during this build, unless their
+	 * processing failed or reported errors, in which case they will be processed again.
+	 * @param succeeded false if a processor failed
+	 */
+	void recordProcessedUnits(boolean succeeded) {
+		for (int i = 0, size = _processedUnits.size(); i < size; i++) {
+			boolean clean = succeeded && !_processedUnits.get(i).compilationResult.hasErrors();
+			_gfm.setFingerprint(_processedFiles.get(i), clean ? _processedFingerprints.get(i) : null);
+		}
+		_processedUnits.clear();
+		_processedFiles.clear();
+		_processedFingerprints.clear();
+	}
+
+	/*
+	 * Returns the source of the unit without the bodies of its methods, and collects the names of its types.
+	 */
+	private static char[] declarations(CompilationUnitDeclaration unit, char[] contents, Set<String> typeNames) {
+		List<int[]> bodies = new ArrayList<>();
+		if (unit.types != null) {
+			for (TypeDeclaration type : unit.types) {
+				collectBodies(type, contents.length, bodies, typeNames);
+			}
+		}
+		if (bodies.isEmpty()) {
+			return contents;
+		}
+		bodies.sort((body1, body2) -> Integer.compare(body1[0], body2[0]));
+		StringBuilder declarations = new StringBuilder(contents.length);
+		int start = 0;
+		for (int[] body : bodies) {
+			if (body[0] < start) {
+				continue;
+			}
+			declarations.append(contents, start, body[0] - start);
+			start = body[1];
+		}
+		declarations.append(contents, start, contents.length - start);
+		char[] result = new char[declarations.length()];
+		declarations.getChars(0, result.length, result, 0);
+		return result;
+	}
+
+	private static void collectBodies(TypeDeclaration type, int length, List<int[]> bodies, Set<String> typeNames) {
+		typeNames.add(new String(type.name));
+		if (type.methods != null) {
+			for (AbstractMethodDeclaration method : type.methods) {
+				if (method.isDefaultConstructor() || method.isClinit()
+						|| (method.modifiers & ExtraCompilerModifiers.AccSemicolonBody) != 0) {
+					continue;
+				}
+				if (method.bodyStart > 0 && method.bodyStart < method.bodyEnd && method.bodyEnd <= length) {
+					bodies.add(new int[] { method.bodyStart, method.bodyEnd });
+				}
+			}
+		}
+		if (type.memberTypes != null) {
+			for (TypeDeclaration memberType : type.memberTypes) {
+				collectBodies(memberType, length, bodies, typeNames);
+			}
+		}
+	}
+
+	/*
+	 * Returns the words of the source that may be names of types, a superset of the type names it refers to.
+	 */
+	private static Set<String> identifiers(char[] source) {
+		Set<String> identifiers = new HashSet<>();
+		int i = 0;
+		while (i < source.length) {
+			if (!Character.isJavaIdentifierStart(source[i])) {
+				i++;
+				continue;
+			}
+			int start = i++;
+			while (i < source.length && Character.isJavaIdentifierPart(source[i])) {
+				i++;
+			}
+			identifiers.add(new String(source, start, i - start));
+		}
+		return identifiers;
+	}
+
+	/*
+	 * Returns the structure of the types declared outside of the unit that processors may look into when processing it:
+	 * the supertypes of its types, and the types of the fields and methods of its types.
+	 */
+	private String dependencies(CompilationUnitDeclaration unit) {
+		List<SourceTypeBinding> types = new ArrayList<>();
+		if (unit.types != null) {
+			for (TypeDeclaration type : unit.types) {
+				collectBindings(type, types);
+			}
+		}
+		StringBuilder dependencies = new StringBuilder();
+		// all the supertypes, since processors may list the inherited members
+		Set<ReferenceBinding> visited = new HashSet<>(types);
+		Deque<ReferenceBinding> supertypes = new ArrayDeque<>();
+		for (SourceTypeBinding type : types) {
+			addSupertypes(type, supertypes);
+		}
+		while (!supertypes.isEmpty()) {
+			ReferenceBinding supertype = supertypes.poll();
+			if (visited.add(supertype)) {
+				dependencies.append(structure(supertype));
+				addSupertypes(supertype, supertypes);
+			}
+		}
+		// the types of the members, but not their supertypes
+		for (SourceTypeBinding type : types) {
+			for (FieldBinding field : type.fields()) {
+				addReferencedType(field.type, visited, dependencies);
+			}
+			for (MethodBinding method : type.methods()) {
+				addReferencedType(method.returnType, visited, dependencies);
+				for (TypeBinding parameter : method.parameters) {
+					addReferencedType(parameter, visited, dependencies);
+				}
+			}
+		}
+		return dependencies.toString();
+	}
+
+	private static void collectBindings(TypeDeclaration type, List<SourceTypeBinding> bindings) {
+		if (type.binding != null) {
+			bindings.add(type.binding);
+		}
+		if (type.memberTypes != null) {
+			for (TypeDeclaration memberType : type.memberTypes) {
+				collectBindings(memberType, bindings);
+			}
+		}
+	}
+
+	private static void addSupertypes(ReferenceBinding type, Deque<ReferenceBinding> supertypes) {
+		ReferenceBinding superclass = type.superclass();
+		if (superclass != null) {
+			supertypes.add((ReferenceBinding) superclass.erasure());
+		}
+		ReferenceBinding[] superInterfaces = type.superInterfaces();
+		if (superInterfaces != null) {
+			for (ReferenceBinding superInterface : superInterfaces) {
+				supertypes.add((ReferenceBinding) superInterface.erasure());
+			}
+		}
+	}
+
+	private void addReferencedType(TypeBinding type, Set<ReferenceBinding> visited, StringBuilder dependencies) {
+		TypeBinding leafType = type == null ? null : type.leafComponentType().erasure();
+		if (leafType instanceof ReferenceBinding referenceType && visited.add(referenceType)) {
+			dependencies.append(structure(referenceType));
+		}
+	}
+
+	/*
+	 * Returns the modifiers, supertypes and members of the given type, as processors see them.
+	 */
+	private String structure(ReferenceBinding type) {
+		String structure = _structures.get(type);
+		if (structure == null) {
+			StringBuilder builder = new StringBuilder();
+			builder.append(type.modifiers & ExtraCompilerModifiers.AccJustFlag).append(' ').append(type.readableName());
+			ReferenceBinding superclass = type.superclass();
+			if (superclass != null) {
+				builder.append(" extends ").append(superclass.readableName()); //$NON-NLS-1$
+			}
+			ReferenceBinding[] superInterfaces = type.superInterfaces();
+			if (superInterfaces != null) {
+				for (ReferenceBinding superInterface : superInterfaces) {
+					builder.append(' ').append(superInterface.readableName());
+				}
+			}
+			builder.append('\n');
+			for (FieldBinding field : type.fields()) {
+				builder.append(field.modifiers & ExtraCompilerModifiers.AccJustFlag).append(' ')
+						.append(field.type == null ? CharOperation.NO_CHAR : field.type.readableName()).append(' ')
+						.append(field.name).append('\n');
+			}
+			for (MethodBinding method : type.methods()) {
+				builder.append(method.modifiers & ExtraCompilerModifiers.AccJustFlag).append(' ')
+						.append(method.returnType == null ? CharOperation.NO_CHAR : method.returnType.readableName()).append(' ')
+						.append(method.readableName()).append('\n');
+			}
+			structure = builder.toString();
+			_structures.put(type, structure);
+		}
+		return structure;
+	}
+
+	private String fingerprint(char[] declarations, String dependencies) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			digest.update(_configuration);
+			digest.update(new String(declarations).getBytes(StandardCharsets.UTF_8));
+			digest.update(dependencies.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
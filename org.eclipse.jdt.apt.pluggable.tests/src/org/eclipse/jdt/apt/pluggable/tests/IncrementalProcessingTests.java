@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.apt.pluggable.tests;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.apt.core.internal.AptPlugin;
+import org.eclipse.jdt.apt.core.internal.generatedfile.GeneratedFileMap;
+import org.eclipse.jdt.apt.core.util.AptConfig;
+import org.eclipse.jdt.apt.pluggable.tests.processors.genclass6.GenClass6Proc;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.internal.apt.pluggable.core.dispatch.IncrementalProcessingFilter;
+
+/**
+ * Tests covering the compilation units left out of the annotation processing of
+ * incremental builds, when incremental processing is enabled.
+ */
+public class IncrementalProcessingTests extends TestBase
+{
+
+	private static final String FOO =
+			"package test;\n" +
+			"import org.eclipse.jdt.apt.pluggable.tests.annotations.GenClass6;\n" +
+			"@GenClass6(name = \"FooGen\", pkg = \"test\")\n" +
+			"public class Foo {\n" +
+			"    public Bar bar;\n" +
+			"    public String name() {\n" +
+			"        return \"foo\";\n" +
+			"    }\n" +
+			"}";
+
+	private static final String BAR =
+			"package test;\n" +
+			"import org.eclipse.jdt.apt.pluggable.tests.annotations.GenClass6;\n" +
+			"@GenClass6(name = \"BarGen\", pkg = \"test\")\n" +
+			"public class Bar {\n" +
+			"}";
+
+	private boolean _enabled;
+
+	public IncrementalProcessingTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(IncrementalProcessingTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		_enabled = IncrementalProcessingFilter.ENABLED;
+		IncrementalProcessingFilter.ENABLED = true;
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		IncrementalProcessingFilter.ENABLED = _enabled;
+		super.tearDown();
+	}
+
+	/*
+	 * Creates a project with Foo and Bar, and builds it so that both are processed.
+	 */
+	private IJavaProject createAndBuildProject() throws Exception {
+		IJavaProject jproj = createJavaProject(_projectName);
+		disableJava5Factories(jproj);
+		IPath root = jproj.getProject().getFullPath().append("src");
+		env.addClass(root, "test", "Foo", FOO);
+		env.addClass(root, "test", "Bar", BAR);
+		AptConfig.setEnabled(jproj, true);
+
+		GenClass6Proc.clearProcessedElements();
+		fullBuild();
+		expectingNoProblems();
+		assertEquals("[Bar, Foo]", processedElements());
+		GenClass6Proc.clearProcessedElements();
+		return jproj;
+	}
+
+	private static String processedElements() {
+		List<String> elements = new ArrayList<>(GenClass6Proc.getProcessedElements());
+		Collections.sort(elements);
+		return elements.toString();
+	}
+
+	/**
+	 * A unit compiled again without any change is not processed again, and the files
+	 * generated from it are kept.
+	 */
+	public void testUnchangedUnitNotProcessed() throws Throwable {
+		IJavaProject jproj = createAndBuildProject();
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+
+		env.addClass(root, "test", "Foo", FOO);
+		incrementalBuild();
+		expectingNoProblems();
+		assertEquals("[]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+		expectingFile(proj, ".apt_generated/test/BarGen.java");
+	}
+
+	/**
+	 * A unit whose method bodies are the only change is not processed again.
+	 */
+	public void testBodyChangeNotProcessed() throws Throwable {
+		IJavaProject jproj = createAndBuildProject();
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+
+		env.addClass(root, "test", "Foo", FOO.replace("return \"foo\";", "return \"bar\";"));
+		incrementalBuild();
+		expectingNoProblems();
+		assertEquals("[]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+	}
+
+	/**
+	 * A unit with warnings is not processed again when its method bodies are the only change.
+	 */
+	public void testUnitWithWarningNotProcessed() throws Throwable {
+		IJavaProject jproj = createJavaProject(_projectName);
+		disableJava5Factories(jproj);
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+		String foo = FOO.replace("import org.eclipse", "import java.util.List;\nimport org.eclipse");
+		env.addClass(root, "test", "Foo", foo);
+		env.addClass(root, "test", "Bar", BAR);
+		AptConfig.setEnabled(jproj, true);
+		GenClass6Proc.clearProcessedElements();
+		fullBuild();
+		expectingOnlyProblemsFor(root.append("test/Foo.java"));
+		assertEquals("[Bar, Foo]", processedElements());
+		GenClass6Proc.clearProcessedElements();
+
+		env.addClass(root, "test", "Foo", foo.replace("return \"foo\";", "return \"bar\";"));
+		incrementalBuild();
+		assertEquals("[]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+	}
+
+	/**
+	 * A unit whose declarations change is processed again.
+	 */
+	public void testSignatureChangeProcessed() throws Throwable {
+		IJavaProject jproj = createAndBuildProject();
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+
+		env.addClass(root, "test", "Foo", FOO.replace("public String name()", "public String name(int index)"));
+		incrementalBuild();
+		expectingNoProblems();
+		assertEquals("[Foo]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+	}
+
+	/**
+	 * A unit referring to a type whose unit is processed again is processed again too,
+	 * although it is compiled by a later loop of the build.
+	 */
+	public void testDependentProcessed() throws Throwable {
+		IJavaProject jproj = createAndBuildProject();
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+
+		env.addClass(root, "test", "Bar", BAR.replace("public class Bar {\n", "public class Bar {\n    public int count;\n"));
+		incrementalBuild();
+		expectingNoProblems();
+		assertEquals("[Bar, Foo]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+		expectingFile(proj, ".apt_generated/test/BarGen.java");
+	}
+
+	/**
+	 * A unit whose type extends a type of another project is processed again when the members
+	 * of that type change, as processors may list the inherited members.
+	 */
+	public void testSupertypeInOtherProjectProcessed() throws Throwable {
+		IJavaProject base = createJavaProject(_projectName + "Base");
+		IPath baseRoot = base.getProject().getFullPath().append("src");
+		String baseSource =
+				"package base;\n" +
+				"public class Base {\n" +
+				"    public int count;\n" +
+				"}";
+		env.addClass(baseRoot, "base", "Base", baseSource);
+
+		IJavaProject jproj = createJavaProject(_projectName);
+		disableJava5Factories(jproj);
+		IProject proj = jproj.getProject();
+		IPath root = proj.getFullPath().append("src");
+		env.addRequiredProject(proj.getFullPath(), base.getProject().getFullPath());
+		env.addClass(root, "test", "Foo", FOO.replace("public class Foo {", "public class Foo extends base.Base {"));
+		env.addClass(root, "test", "Bar", BAR);
+		AptConfig.setEnabled(jproj, true);
+		GenClass6Proc.clearProcessedElements();
+		fullBuild();
+		expectingNoProblems();
+		assertEquals("[Bar, Foo]", processedElements());
+		GenClass6Proc.clearProcessedElements();
+
+		env.addClass(baseRoot, "base", "Base", baseSource.replace("public int count;", "public int count;\n    public String name;"));
+		incrementalBuild();
+		expectingNoProblems();
+		assertEquals("[Foo]", processedElements());
+		expectingFile(proj, ".apt_generated/test/FooGen.java");
+		expectingFile(proj, ".apt_generated/test/BarGen.java");
+	}
+
+	/**
+	 * The dependencies saved with version 2 of the format, before the fingerprints were
+	 * added, are still read.
+	 */
+	public void testReadVersion2State() throws Throwable {
+		IJavaProject jproj = createJavaProject(_projectName);
+		IProject proj = jproj.getProject();
+		File state = proj.getWorkingLocation(AptPlugin.PLUGIN_ID).append("state.dat").toFile();
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(state))) {
+			out.writeInt(2); // version
+			out.writeInt(1); // parents
+			out.writeUTF("src/test/Foo.java");
+			out.writeInt(1); // children
+			out.writeUTF(".apt_generated/test/FooGen.java");
+			out.writeInt(1); // flags
+			out.writeUTF(".apt_generated/test/FooGen.java");
+			out.writeInt(0);
+		}
+
+		GeneratedFileMap map = new GeneratedFileMap(proj, false);
+		IFile parent = proj.getFile("src/test/Foo.java");
+		IFile generated = proj.getFile(".apt_generated/test/FooGen.java");
+		assertEquals(Set.of(generated), map.getValues(parent));
+		assertTrue(map.isSource(generated));
+		assertNull(map.getFingerprint(parent));
+		assertFalse(map.isDirty());
+
+		// saved again with the current version, along with the fingerprints
+		map.setFingerprint(parent, "fingerprint");
+		assertTrue(map.isDirty());
+		map.writeState();
+		map = new GeneratedFileMap(proj, false);
+		assertEquals(Set.of(generated), map.getValues(parent));
+		assertEquals("fingerprint", map.getFingerprint(parent));
+	}
+}
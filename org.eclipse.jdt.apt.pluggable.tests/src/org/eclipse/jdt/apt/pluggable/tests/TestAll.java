@@ -40,6 +40,7 @@ public class TestAll extends TestCase {
 		suite.addTest(FilerTests.suite());
 		suite.addTest(ModelTests.suite());
 		suite.addTest(BuilderTests.suite());
+		suite.addTest(IncrementalProcessingTests.suite());
 		return suite;
 	}
 }
@@ -16,9 +16,12 @@ package org.eclipse.jdt.apt.pluggable.tests.processors.genclass6;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.processing.AbstractProcessor;
@@ -46,6 +49,15 @@ import org.eclipse.jdt.apt.pluggable.tests.annotations.GenClass6;
 @SupportedOptions({})
 public class GenClass6Proc extends AbstractProcessor {
 
+	private static final List<String> processedElements = new ArrayList<>();
+
+	public static List<String> getProcessedElements() {
+		return Collections.unmodifiableList(processedElements);
+	}
+	public static void clearProcessedElements() {
+		processedElements.clear();
+	}
+
 	private ProcessingEnvironment _processingEnv;
 	private Messager _messager;
 	private Filer _filer;
@@ -86,6 +98,7 @@ public class GenClass6Proc extends AbstractProcessor {
 		TypeElement genClassAnno = annotations.iterator().next();
 		Set<? extends Element> annotatedEls = roundEnv.getElementsAnnotatedWith(genClassAnno);
 		for (Element e : annotatedEls) {
+			processedElements.add(e.getSimpleName().toString());
 			GenClass6 genClassMirror = e.getAnnotation(GenClass6.class);
 			processType(genClassMirror, e);
 		}
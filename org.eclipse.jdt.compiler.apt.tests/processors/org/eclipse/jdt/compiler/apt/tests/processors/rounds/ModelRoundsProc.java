@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.compiler.apt.tests.processors.rounds;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import org.eclipse.jdt.compiler.apt.tests.processors.base.BaseProcessor;
+
+/**
+ * A processor that checks that the model sees the types generated in a round when it is asked
+ * in the next round the same questions as in the round before, e.g. about the members of a type
+ * whose supertype is generated. To enable this processor, add
+ * -Aorg.eclipse.jdt.compiler.apt.tests.processors.rounds.ModelRoundsProc to the command line.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedSourceVersion(SourceVersion.RELEASE_6)
+public class ModelRoundsProc extends BaseProcessor
+{
+	private static final String ROOT = "targets.rounds.Root";
+	private static final String GENERATED = "targets.rounds.GenBase";
+
+	private int _round;
+	private boolean _examined;
+
+	// Always return false from this processor, because it supports "*".
+	// The return value does not signify success or failure!
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		Map<String, String> options = processingEnv.getOptions();
+		if (!options.containsKey(this.getClass().getName())) {
+			// Disable this processor unless we are intentionally performing the test.
+			return false;
+		}
+		if (roundEnv.processingOver()) {
+			if (!_examined) {
+				reportError("the round after the one generating GenBase was not reached");
+			}
+			return false;
+		}
+		switch (++_round) {
+		case 1:
+			examineBeforeGeneration();
+			break;
+		case 2:
+			if (examineAfterGeneration(roundEnv)) {
+				reportSuccess();
+			}
+			_examined = true;
+			break;
+		}
+		return false;
+	}
+
+	/**
+	 * Ask the model about Root and its package before GenBase exists, then generate GenBase.
+	 */
+	private void examineBeforeGeneration()
+	{
+		TypeElement root = _elementUtils.getTypeElement(ROOT);
+		_elementUtils.getAllMembers(root);
+		_elementUtils.getPackageElement("targets.rounds").getEnclosedElements();
+		DeclaredType rootType = (DeclaredType)root.asType();
+		for (ExecutableElement method : ElementFilter.methodsIn(root.getEnclosedElements())) {
+			_typeUtils.asMemberOf(rootType, method);
+		}
+		_typeUtils.isSubtype(rootType, root.getSuperclass());
+		try (PrintWriter pw = new PrintWriter(processingEnv.getFiler().createSourceFile(GENERATED, root).openWriter())) {
+			pw.println("package targets.rounds;");
+			pw.println("public class GenBase<T> {");
+			pw.println("\tpublic T inherited(T t) {");
+			pw.println("\t\treturn t;");
+			pw.println("\t}");
+			pw.println("}");
+		} catch (IOException e) {
+			reportError("Unable to generate GenBase: " + e);
+		}
+	}
+
+	/**
+	 * Ask the model the same questions once GenBase is compiled.
+	 * @return true if all the answers know about GenBase
+	 */
+	private boolean examineAfterGeneration(RoundEnvironment roundEnv)
+	{
+		TypeElement genBase = _elementUtils.getTypeElement(GENERATED);
+		if (genBase == null) {
+			reportError("element GenBase was not found");
+			return false;
+		}
+		if (!genBase.equals(findType(roundEnv.getRootElements(), "GenBase"))) {
+			reportError("GenBase is not a root element of its round");
+			return false;
+		}
+		if (!genBase.equals(findType(_elementUtils.getPackageElement("targets.rounds").getEnclosedElements(), "GenBase"))) {
+			reportError("package targets.rounds does not enclose GenBase");
+			return false;
+		}
+		TypeElement root = _elementUtils.getTypeElement(ROOT);
+		TypeMirror superclass = root.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED || !genBase.equals(((DeclaredType)superclass).asElement())) {
+			reportError("the superclass of Root is " + superclass);
+			return false;
+		}
+		List<? extends Element> members = _elementUtils.getAllMembers(root);
+		ExecutableElement inherited = findMethod(members, "inherited");
+		if (inherited == null || findMethod(members, "own") == null) {
+			reportError("the members of Root are " + members);
+			return false;
+		}
+		// GenBase<T>.inherited(T) is inherited(String) as a member of Root
+		DeclaredType rootType = (DeclaredType)root.asType();
+		TypeMirror inheritedType = _typeUtils.asMemberOf(rootType, inherited);
+		TypeMirror string = _elementUtils.getTypeElement("java.lang.String").asType();
+		if (inheritedType.getKind() != TypeKind.EXECUTABLE
+				|| !_typeUtils.isSameType(((ExecutableType)inheritedType).getReturnType(), string)) {
+			reportError("inherited() as a member of Root is " + inheritedType);
+			return false;
+		}
+		if (!_typeUtils.isSubtype(rootType, superclass)) {
+			reportError("Root is not a subtype of " + superclass);
+			return false;
+		}
+		return true;
+	}
+
+	private static TypeElement findType(Iterable<? extends Element> elements, String simpleName)
+	{
+		for (TypeElement type : ElementFilter.typesIn(elements)) {
+			if (type.getSimpleName().contentEquals(simpleName)) {
+				return type;
+			}
+		}
+		return null;
+	}
+
+	private static ExecutableElement findMethod(List<? extends Element> elements, String name)
+	{
+		for (ExecutableElement method : ElementFilter.methodsIn(elements)) {
+			if (method.getSimpleName().contentEquals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+}
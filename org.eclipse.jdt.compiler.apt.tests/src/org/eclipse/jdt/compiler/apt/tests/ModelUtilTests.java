@@ -32,6 +32,7 @@ public class ModelUtilTests extends TestCase
 	// Processor class names; see corresponding usage in the processor classes.
 	private static final String ELEMENTUTILSPROC = "org.eclipse.jdt.compiler.apt.tests.processors.elementutils.ElementUtilsProc";
 	private static final String TYPEUTILSPROC = "org.eclipse.jdt.compiler.apt.tests.processors.typeutils.TypeUtilsProc";
+	private static final String MODELROUNDSPROC = "org.eclipse.jdt.compiler.apt.tests.processors.rounds.ModelRoundsProc";
 
 	@Override
 	protected void setUp() throws Exception {
@@ -83,15 +84,41 @@ public class ModelUtilTests extends TestCase
 		internalTest(compiler, TYPEUTILSPROC);
 	}
 
+	/**
+	 * Validate the testModelRounds test against the javac compiler.
+	 */
+	public void testModelRoundsWithSystemCompiler() throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			System.out.println("No system java compiler available");
+			return;
+		}
+		internalTest(compiler, MODELROUNDSPROC, "rounds");
+	}
+
+	/**
+	 * Test that the members, the types as members and the elements of a type are up to date
+	 * in the round after its supertype is generated, although the same questions were asked
+	 * in the previous round.
+	 */
+	public void testModelRoundsWithEclipseCompiler() throws IOException {
+		JavaCompiler compiler = BatchTestUtils.getEclipseCompiler();
+		internalTest(compiler, MODELROUNDSPROC, "rounds");
+	}
+
 	/**
 	 * Test functionality by running a particular processor against the types in
 	 * resources/targets.  The processor must support "*" (the set of all annotations)
 	 * and must report its errors or success via the methods in BaseProcessor.
 	 */
 	private void internalTest(JavaCompiler compiler, String processorClass) throws IOException {
+		internalTest(compiler, processorClass, "model");
+	}
+
+	private void internalTest(JavaCompiler compiler, String processorClass, String resourceArea) throws IOException {
 		System.clearProperty(processorClass);
-		File targetFolder = TestUtils.concatPath(BatchTestUtils.getSrcFolderName(), "targets", "model");
-		BatchTestUtils.copyResources("targets/model", targetFolder);
+		File targetFolder = TestUtils.concatPath(BatchTestUtils.getSrcFolderName(), "targets", resourceArea);
+		BatchTestUtils.copyResources("targets/" + resourceArea, targetFolder);
 
 		List<String> options = new ArrayList<>();
 		options.add("-A" + processorClass);
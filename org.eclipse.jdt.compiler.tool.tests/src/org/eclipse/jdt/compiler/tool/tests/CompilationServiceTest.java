@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.compiler.tool.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import junit.framework.TestCase;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.tool.CompilationService;
+
+public class CompilationServiceTest extends TestCase {
+
+	public void testCompileSources() throws ReflectiveOperationException {
+		// loaded by the running VM
+		Map<String, String> options = Map.of(
+				CompilerOptions.OPTION_Compliance, CompilerOptions.VERSION_17,
+				CompilerOptions.OPTION_Source, CompilerOptions.VERSION_17,
+				CompilerOptions.OPTION_TargetPlatform, CompilerOptions.VERSION_17);
+		try (CompilationService service = new CompilationService(options, List.of())) {
+			CompilationService.Result result = service.compile(Map.of(
+					"my/pkg/MyClass.java",
+					"package my.pkg;\n" +
+					"public class MyClass {\n" +
+					"    public static String getText() {\n" +
+					"        return new Helper().text();\n" +
+					"    }\n" +
+					"}\n",
+					"my/pkg/Helper.java",
+					"package my.pkg;\n" +
+					"class Helper {\n" +
+					"    String text() { return String.join(\" \", java.util.List.of(\"Hello\", \"world\")); }\n" +
+					"}\n"));
+			assertTrue(result.diagnostics().toString(), result.success());
+			assertEquals(Set.of("my.pkg.MyClass", "my.pkg.Helper"), result.classFiles().keySet());
+			Method method = load(result.classFiles(), "my.pkg.MyClass").getMethod("getText");
+			assertEquals("Hello world", method.invoke(null));
+		}
+	}
+
+	public void testDiagnostics() {
+		try (CompilationService service = new CompilationService(Map.of(), List.of())) {
+			CompilationService.Result result = service.compile(Map.of(
+					"X.java",
+					"public class X {\n" +
+					"    Unknown field;\n" +
+					"}\n"));
+			assertFalse(result.success());
+			assertEquals(1, result.diagnostics().size());
+			Diagnostic<? extends JavaFileObject> diagnostic = result.diagnostics().get(0);
+			assertEquals(Diagnostic.Kind.ERROR, diagnostic.getKind());
+			assertEquals(2, diagnostic.getLineNumber());
+
+			// the failure doesn't affect the next compilation
+			result = service.compile(Map.of("X.java", "public class X {}\n"));
+			assertTrue(result.diagnostics().toString(), result.success());
+			assertEquals(List.of("X"), List.copyOf(result.classFiles().keySet()));
+		}
+	}
+
+	/*
+	 * The sources of a compilation must not be visible to the next one, even though the types of the classpath
+	 * are remembered.
+	 */
+	public void testSourcesNotKeptBetweenCompilations() throws IOException {
+		File directory = Files.createTempDirectory("compilationservice").toFile();
+		File jar = new File(directory, "lib.jar");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar))) {
+			zip.putNextEntry(new ZipEntry("lib/Lib.class"));
+			try (CompilationService service = new CompilationService(Map.of(), List.of())) {
+				CompilationService.Result result = service.compile(Map.of("lib/Lib.java", "package lib; public class Lib { public static int value() { return 1; } }"));
+				assertTrue(result.diagnostics().toString(), result.success());
+				zip.write(result.classFiles().get("lib.Lib"));
+			}
+			zip.closeEntry();
+		}
+		try (CompilationService service = new CompilationService(Map.of(), List.of(jar.getAbsolutePath()))) {
+			CompilationService.Result result = service.compile(Map.of(
+					"p/A.java", "package p; public class A { int value = lib.Lib.value(); }"));
+			assertTrue(result.diagnostics().toString(), result.success());
+
+			result = service.compile(Map.of(
+					"p/B.java", "package p; public class B { A a; int value = lib.Lib.value(); }"));
+			assertFalse(result.success());
+			assertEquals(1, result.diagnostics().size());
+
+			result = service.compile(Map.of(
+					"p/A.java", "package p; public class A { String value = lib.Lib.value() + \"\"; }",
+					"p/B.java", "package p; public class B { A a; String value = a.value; }"));
+			assertTrue(result.diagnostics().toString(), result.success());
+		} finally {
+			jar.delete();
+			directory.delete();
+		}
+	}
+
+	private static Class<?> load(Map<String, byte[]> classFiles, String name) throws ClassNotFoundException {
+		ClassLoader loader = new ClassLoader(CompilationServiceTest.class.getClassLoader()) {
+			@Override
+			protected Class<?> findClass(String className) throws ClassNotFoundException {
+				byte[] bytes = classFiles.get(className);
+				if (bytes == null)
+					throw new ClassNotFoundException(className);
+				return defineClass(className, bytes, 0, bytes.length);
+			}
+		};
+		return loader.loadClass(name);
+	}
+}
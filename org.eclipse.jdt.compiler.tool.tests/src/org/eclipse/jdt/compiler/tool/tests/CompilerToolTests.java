@@ -20,6 +20,7 @@ import static org.eclipse.jdt.core.tests.compiler.regression.AbstractBatchCompil
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -36,19 +37,31 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.lang.model.SourceVersion;
 import javax.tools.*;
 import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject.Kind;
 import junit.framework.TestCase;
 import org.eclipse.jdt.compiler.tool.tests.AbstractCompilerToolTest.CompilerInvocationDiagnosticListener;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.tool.ArchiveIndex;
+import org.eclipse.jdt.internal.compiler.tool.CompilationService;
 import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
 import org.eclipse.jdt.internal.compiler.tool.EclipseFileManager;
 
@@ -1162,6 +1175,135 @@ static final String[] FAKE_ZERO_ARG_OPTIONS = new String[] {
 	}
 
 
+	public void testFileManagerSharedArchiveIndex() throws IOException {
+		File jar = new File(System.getProperty("java.io.tmpdir"), "lib" + System.currentTimeMillis() + ".jar");
+		try {
+			writeJar(jar, "p/A.class", "p/B.class", "q/C.class");
+			ArchiveIndex.clear();
+			assertEquals("Wrong contents", "[A.class, B.class]", listClasses(jar, "p").toString());
+			assertEquals("Wrong number of scanned archives", 1, ArchiveIndex.getMisses());
+			assertEquals("Wrong number of reused listings", 0, ArchiveIndex.getHits());
+
+			// another file manager reuses the listing of the archive
+			assertEquals("Wrong contents", "[C.class]", listClasses(jar, "q").toString());
+			assertEquals("Wrong number of scanned archives", 1, ArchiveIndex.getMisses());
+			assertEquals("Wrong number of reused listings", 1, ArchiveIndex.getHits());
+
+			// a changed archive is scanned again
+			writeJar(jar, "p/A.class", "p/B.class", "p/D.class", "q/C.class");
+			assertEquals("Wrong contents", "[A.class, B.class, D.class]", listClasses(jar, "p").toString());
+			assertEquals("Wrong number of scanned archives", 2, ArchiveIndex.getMisses());
+			assertEquals("Wrong number of reused listings", 1, ArchiveIndex.getHits());
+		} finally {
+			ArchiveIndex.clear();
+			assertTrue("delete failed", jar.delete());
+		}
+	}
+
+	public void testConcurrentTasksShareJarContents() throws Exception {
+		File directory = Files.createTempDirectory("sharedjar").toFile();
+		File jar = new File(directory, "lib.jar");
+		try {
+			try (CompilationService service = new CompilationService(Map.of(), List.of());
+					ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+				CompilationService.Result result = service.compile(Map.of(
+						"lib/Lib.java", "package lib; public class Lib { public static String value() { return \"lib\"; } }"));
+				assertTrue(result.diagnostics().toString(), result.success());
+				out.putNextEntry(new ZipEntry("lib/Lib.class"));
+				out.write(result.classFiles().get("lib.Lib"));
+				out.closeEntry();
+			}
+			// the name environments of two compilations answer the same reader
+			FileSystem environment1 = new FileSystem(new String[] { jar.getAbsolutePath() }, null, null);
+			FileSystem environment2 = new FileSystem(new String[] { jar.getAbsolutePath() }, null, null);
+			try {
+				char[][] name = CharOperation.splitOn('.', "lib.Lib".toCharArray());
+				IBinaryType reader = environment1.findType(name).getBinaryType();
+				assertSame("Reader not shared", reader, environment2.findType(name).getBinaryType());
+			} finally {
+				environment1.cleanup();
+				environment2.cleanup();
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+			try {
+				List<Future<Boolean>> results = new ArrayList<>();
+				for (int i = 0; i < 16; i++) {
+					File output = new File(directory, "bin" + i);
+					File source = new File(directory, "X" + i + ".java");
+					Files.writeString(source.toPath(), "public class X" + i + " { String value = lib.Lib.value(); }");
+					results.add(executor.submit(() -> {
+						try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), Charset.defaultCharset())) {
+							fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(jar));
+							List<String> options = List.of("-proc:none", "-d", output.getAbsolutePath());
+							return compiler.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjects(source)).call();
+						}
+					}));
+				}
+				for (Future<Boolean> result : results) {
+					assertTrue("Compilation failed", result.get());
+				}
+			} finally {
+				executor.shutdown();
+			}
+		} finally {
+			try (Stream<Path> files = Files.walk(directory.toPath())) {
+				files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+	}
+
+	public void testFileManagerSharedArchiveIndexEntries() throws IOException {
+		File jar = new File(System.getProperty("java.io.tmpdir"), "lib" + System.currentTimeMillis() + ".jar");
+		try {
+			writeJar(jar, "p/", "p/A.class", "p/r/B.txt");
+			ArchiveIndex.clear();
+			// the first file manager scans the archive, the second one finds the entries in the shared listing
+			for (int i = 0; i < 2; i++) {
+				try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), Charset.defaultCharset())) {
+					fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(jar));
+					assertNotNull("Missing class", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "p", "A.class"));
+					assertNotNull("Missing resource", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "p.r", "B.txt"));
+					assertNotNull("Missing directory", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "", "p/"));
+					assertNotNull("Missing directory", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "", "p"));
+					assertNull("Unexpected directory", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "p", "r"));
+					assertNull("Unexpected class", fileManager.getFileForInput(StandardLocation.CLASS_PATH, "p", "B.class"));
+				}
+			}
+			assertEquals("Wrong number of scanned archives", 1, ArchiveIndex.getMisses());
+			assertEquals("Wrong number of reused listings", 1, ArchiveIndex.getHits());
+		} finally {
+			ArchiveIndex.clear();
+			assertTrue("delete failed", jar.delete());
+		}
+	}
+
+	private List<String> listClasses(File jar, String packageName) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), Charset.defaultCharset())) {
+			fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(jar));
+			for (JavaFileObject fileObject : fileManager.list(StandardLocation.CLASS_PATH, packageName, Set.of(Kind.CLASS), false)) {
+				String name = fileObject.getName();
+				names.add(name.substring(name.lastIndexOf('/') + 1));
+			}
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+	private static void writeJar(File jar, String... entryNames) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+			for (String entryName : entryNames) {
+				out.putNextEntry(new ZipEntry(entryName));
+				if (!entryName.endsWith("/")) {
+					out.write(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE });
+				}
+				out.closeEntry();
+			}
+		}
+	}
+
+
 	public void testCompilerUnusedVariable() throws Exception {
 		String tmpFolder = new File(System.getProperty("java.io.tmpdir")).toPath().normalize().toAbsolutePath().toString();
 		File inputFile = new File(tmpFolder, "NoWarn.java");
@@ -165,6 +165,7 @@ public abstract class BaseAnnotationProcessorManager extends AbstractAnnotationP
 				}
 			}
 		}
+		this._processingEnv.resetModelCaches();
 		RoundEnvImpl roundEnv = new RoundEnvImpl(units, referenceBindings, isLastRound, this._processingEnv);
 		PrintWriter out = this._out; // closable resource not manages in this class
 		PrintWriter traceProcessorInfo = this._printProcessorInfo ? out : null;
@@ -175,6 +176,10 @@ public abstract class BaseAnnotationProcessorManager extends AbstractAnnotationP
 		RoundDispatcher dispatcher = new RoundDispatcher(
 				this, roundEnv, roundEnv.getRootAnnotations(), traceProcessorInfo, traceRounds);
 		dispatcher.round();
+		if (isLastRound) {
+			// nothing asks for the model after the last round
+			this._processingEnv.resetModelCaches();
+		}
 		if (this._isFirstRound) {
 			this._isFirstRound = false;
 		}
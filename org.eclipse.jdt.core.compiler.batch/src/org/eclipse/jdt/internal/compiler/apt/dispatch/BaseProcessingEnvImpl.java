@@ -167,6 +167,21 @@ public abstract class BaseProcessingEnvImpl implements ProcessingEnvironment {
 		}
 	}
 
+	/**
+	 * Called at the start of each round and after the last one: forgets the elements and the
+	 * lookups of the model cached during the previous round, since the bindings change once
+	 * the generated files are compiled.
+	 */
+	public void resetModelCaches() {
+		this._factory.reset();
+		if (this._elementUtils instanceof ElementsImpl elements) {
+			elements.reset();
+		}
+		if (this._typeUtils instanceof TypesImpl types) {
+			types.reset();
+		}
+	}
+
 	/**
 	 * Called when AnnotationProcessorManager has retrieved the list of
 	 * newly generated compilation units (ie, once per round)
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +63,11 @@ public class ElementsImpl implements Elements {
 
 	protected final BaseProcessingEnvImpl _env;
 
+	/**
+	 * The members returned by {@link #getAllMembers(TypeElement)} during the current round, by type.
+	 */
+	private final Map<ReferenceBinding, List<Element>> _allMembers = new IdentityHashMap<>();
+
 	/*
 	 * The processing env creates and caches an ElementsImpl.  Other clients should
 	 * not create their own; they should ask the env for it.
@@ -141,6 +147,18 @@ public class ElementsImpl implements Elements {
 			return Collections.emptyList();
 		}
 		ReferenceBinding binding = (ReferenceBinding)((TypeElementImpl)type)._binding;
+		if (!Factory.CACHE_ENABLED) {
+			return computeAllMembers(binding);
+		}
+		List<Element> allMembers = this._allMembers.get(binding);
+		if (allMembers == null) {
+			allMembers = computeAllMembers(binding);
+			this._allMembers.put(binding, allMembers);
+		}
+		return new ArrayList<>(allMembers);
+	}
+
+	private List<Element> computeAllMembers(ReferenceBinding binding) {
 		// Map of element simple name to binding
 		Map<String, ReferenceBinding> types = new HashMap<>();
 		// Javac implementation does not take field name collisions into account
@@ -175,6 +193,13 @@ public class ElementsImpl implements Elements {
 		return allMembers;
 	}
 
+	/**
+	 * Forgets the members computed during the previous round.
+	 */
+	public void reset() {
+		this._allMembers.clear();
+	}
+
 	/**
 	 * Recursively depth-first walk the tree of superinterfaces of a type, collecting
 	 * all the unique superinterface bindings.  (Note that because of generics, a type may
@@ -23,7 +23,9 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
@@ -56,9 +58,19 @@ public class Factory {
 	public static final Long DUMMY_LONG = 0l;
 	public static final Short DUMMY_SHORT = 0;
 
+	/**
+	 * Whether the elements and the results of the lookups of the model are remembered during a round.
+	 */
+	public static final boolean CACHE_ENABLED = !Boolean.getBoolean("org.eclipse.jdt.disable_apt_model_caches"); //$NON-NLS-1$
+
 	private final BaseProcessingEnvImpl _env;
 	public static List<? extends AnnotationMirror> EMPTY_ANNOTATION_MIRRORS = Collections.emptyList();
 
+	/**
+	 * The elements created during the current round, by binding.
+	 */
+	private final Map<Binding, Element> _elements = new IdentityHashMap<>();
+
 	/**
 	 * This object should only be constructed by the BaseProcessingEnvImpl.
 	 */
@@ -346,6 +358,18 @@ public class Factory {
 	public Element newElement(Binding binding, ElementKind kindHint) {
 		if (binding == null)
 			return null;
+		if (kindHint != null || !CACHE_ENABLED)
+			return createElement(binding, kindHint);
+		Element element = this._elements.get(binding);
+		if (element == null) {
+			element = createElement(binding, null);
+			if (element != null)
+				this._elements.put(binding, element);
+		}
+		return element;
+	}
+
+	private Element createElement(Binding binding, ElementKind kindHint) {
 		switch (binding.kind()) {
 		case Binding.FIELD:
 		case Binding.LOCAL:
@@ -388,6 +412,13 @@ public class Factory {
 		return newElement(binding, null);
 	}
 
+	/**
+	 * Forgets the elements created during the previous round.
+	 */
+	public void reset() {
+		this._elements.clear();
+	}
+
 	/**
 	 * Convenience method - equivalent to {@code (PackageElement)Factory.newElement(binding)}
 	 */
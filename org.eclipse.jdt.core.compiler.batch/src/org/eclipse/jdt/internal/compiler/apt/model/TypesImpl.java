@@ -18,7 +18,9 @@ package org.eclipse.jdt.internal.compiler.apt.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.ArrayType;
@@ -44,6 +46,29 @@ public class TypesImpl implements Types {
 
     private final BaseProcessingEnvImpl _env;
 
+    /*
+     * The results of asMemberOf() and isSubtype() during the current round, by pair of bindings.
+     */
+    private final BindingPairs<TypeMirror> _membersOf = new BindingPairs<>();
+    private final BindingPairs<Boolean> _subtypes = new BindingPairs<>();
+
+    private static final class BindingPairs<V> {
+        private final Map<Binding, Map<Binding, V>> _values = new IdentityHashMap<>();
+
+        V get(Binding first, Binding second) {
+            Map<Binding, V> values = this._values.get(first);
+            return values == null ? null : values.get(second);
+        }
+
+        void put(Binding first, Binding second, V value) {
+            this._values.computeIfAbsent(first, k -> new IdentityHashMap<>()).put(second, value);
+        }
+
+        void clear() {
+            this._values.clear();
+        }
+    }
+
     /*
      * The processing env creates and caches a TypesImpl.  Other clients should
      * not create their own; they should ask the env for it.
@@ -67,6 +92,14 @@ public class TypesImpl implements Types {
         return null;
     }
 
+    /**
+     * Forgets the results computed during the previous round.
+     */
+    public void reset() {
+        this._membersOf.clear();
+        this._subtypes.clear();
+    }
+
     @Override
 	public TypeMirror asMemberOf(DeclaredType containing, Element element) {
 		// throw new UnsupportedOperationException("NYI: TypesImpl.asMemberOf("
@@ -75,6 +108,19 @@ public class TypesImpl implements Types {
 		ElementImpl elementImpl = (ElementImpl) element;
 		DeclaredTypeImpl declaredTypeImpl = (DeclaredTypeImpl) containing;
 		ReferenceBinding referenceBinding = (ReferenceBinding) declaredTypeImpl._binding;
+		if (!Factory.CACHE_ENABLED) {
+			return computeMemberOf(referenceBinding, containing, elementImpl);
+		}
+		TypeMirror typeMirror = this._membersOf.get(referenceBinding, elementImpl._binding);
+		if (typeMirror == null) {
+			typeMirror = computeMemberOf(referenceBinding, containing, elementImpl);
+			this._membersOf.put(referenceBinding, elementImpl._binding, typeMirror);
+		}
+		return typeMirror;
+	}
+
+	private TypeMirror computeMemberOf(ReferenceBinding referenceBinding, DeclaredType containing, Element element) {
+		ElementImpl elementImpl = (ElementImpl) element;
 		TypeMirror typeMirror;
 
 		switch (element.getKind()) {
@@ -552,7 +598,15 @@ public class TypesImpl implements Types {
                 return ((TypeBinding)b1).isCompatibleWith((TypeBinding)b2);
             }
         }
-        return ((TypeBinding)b1).isCompatibleWith((TypeBinding)b2);
+        if (!Factory.CACHE_ENABLED) {
+            return ((TypeBinding)b1).isCompatibleWith((TypeBinding)b2);
+        }
+        Boolean subtype = this._subtypes.get(b1, b2);
+        if (subtype == null) {
+            subtype = ((TypeBinding)b1).isCompatibleWith((TypeBinding)b2);
+            this._subtypes.put(b1, b2, subtype);
+        }
+        return subtype;
     }
 
     @Override
@@ -19,12 +19,15 @@ package org.eclipse.jdt.internal.compiler.batch;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -53,6 +56,28 @@ protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
 
+/*
+ * The decoded contents of a jar, shared by the classpaths of all the compilations of the process, e.g. by the
+ * concurrent tasks of a build tool, as long as the size and the modification time of the jar don't change.
+ * The readers are fully initialized, after which they are not modified anymore and can be shared across threads.
+ */
+private static final class SharedContents {
+	final long lastModified;
+	final long fileSize;
+	volatile Set<String> packageSet;
+	// the readers by entry name, or NO_READER for the class files which don't exist
+	final Map<String, Object> readers = new ConcurrentHashMap<>();
+
+	SharedContents(long lastModified, long fileSize) {
+		this.lastModified = lastModified;
+		this.fileSize = fileSize;
+	}
+}
+static final boolean SHARE_CONTENTS = !Boolean.getBoolean("org.eclipse.jdt.disable_shared_jar_contents"); //$NON-NLS-1$
+private static final Map<File, SoftReference<SharedContents>> sharedContents = new ConcurrentHashMap<>();
+private static final Object NO_READER = new Object();
+private SharedContents contents;
+
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
 	super(accessRuleSet, destinationPath);
@@ -112,7 +137,7 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -149,6 +174,21 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 	}
 	return null;
 }
+private ClassFileReader readClassFile(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	// the readers of a jar on the module path get the name of its module
+	SharedContents shared = this.module == null ? this.contents : null;
+	if (shared == null)
+		return ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+	Object reader = shared.readers.get(qualifiedBinaryFileName);
+	if (reader == null) {
+		ClassFileReader newReader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName, true);
+		reader = newReader == null ? NO_READER : newReader;
+		Object existing = shared.readers.putIfAbsent(qualifiedBinaryFileName, reader);
+		if (existing != null)
+			reader = existing;
+	}
+	return reader == NO_READER ? null : (ClassFileReader) reader;
+}
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 	if (this.zipFile == null)
@@ -194,8 +234,23 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 public void initialize() throws IOException {
 	if (this.zipFile == null) {
 		this.zipFile = new ZipFile(this.file);
+		this.contents = getSharedContents(this.file);
 	}
 }
+private static SharedContents getSharedContents(File file) {
+	if (!SHARE_CONTENTS)
+		return null;
+	File key = file.getAbsoluteFile();
+	long lastModified = key.lastModified();
+	long fileSize = key.length();
+	SoftReference<SharedContents> reference = sharedContents.get(key);
+	SharedContents shared = reference == null ? null : reference.get();
+	if (shared == null || shared.lastModified != lastModified || shared.fileSize != fileSize) {
+		shared = new SharedContents(lastModified, fileSize);
+		sharedContents.put(key, new SoftReference<>(shared));
+	}
+	return shared;
+}
 void acceptModule(ClassFileReader reader) {
 	if (reader != null) {
 		acceptModule(reader.getModuleDeclaration());
@@ -230,6 +285,10 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 
+	if (this.contents != null && this.contents.packageSet != null) {
+		this.packageCache = this.contents.packageSet;
+		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	}
 	this.packageCache = new HashSet<>(41);
 	this.packageCache.add(Util.EMPTY_STRING);
 
@@ -237,6 +296,8 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 		String fileName = e.nextElement().getName();
 		addToPackageCache(fileName, false);
 	}
+	if (this.contents != null)
+		this.contents.packageSet = this.packageCache;
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 }
 @Override
@@ -290,6 +351,8 @@ public void reset() {
 	}
 	this.packageCache = null;
 	this.annotationPaths = null;
+	if (this.zipFile == null)
+		this.contents = null;
 }
 @Override
 public String toString() {
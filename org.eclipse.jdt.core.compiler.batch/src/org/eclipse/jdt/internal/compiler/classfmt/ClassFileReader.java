@@ -26,6 +26,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
 import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
@@ -1416,6 +1417,34 @@ private void initialize() throws ClassFormatException {
 		throw exception;
 	}
 }
+/**
+ * Releases the bytes of the class file by fully initializing the receiver (if not done yet),
+ * and replaces the names and signatures of the type and its members by the instances
+ * returned by the given interner, so that they can be shared between long lived readers.
+ *
+ * @param interner returns a char array equal to the given one
+ */
+public void compact(UnaryOperator<char[]> interner) throws ClassFormatException {
+	if (this.reference != null) {
+		initialize();
+	}
+	internNames(this.interfaceNames, interner);
+	internNames(this.permittedSubtypesNames, interner);
+	for (int i = 0; i < this.fieldsCount; i++) {
+		this.fields[i].compact(interner);
+	}
+	for (int i = 0; i < this.methodsCount; i++) {
+		this.methods[i].compact(interner);
+	}
+}
+static void internNames(char[][] names, UnaryOperator<char[]> interner) {
+	if (names == null)
+		return;
+	for (int i = 0; i < names.length; i++) {
+		if (names[i] != null)
+			names[i] = interner.apply(names[i]);
+	}
+}
 @Override
 public boolean isAnonymous() {
 	if (this.innerInfo == null) return false;
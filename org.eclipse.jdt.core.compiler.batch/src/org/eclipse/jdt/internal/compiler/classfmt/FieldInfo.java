@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.classfmt;
 
+import java.util.function.UnaryOperator;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
 import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
@@ -322,6 +323,18 @@ protected void initialize() {
 	getGenericSignature();
 	reset();
 }
+/**
+ * Replaces the names and signatures of the receiver, which must be fully initialized,
+ * by the instances returned by the given interner.
+ */
+protected void compact(UnaryOperator<char[]> interner) {
+	if (this.name != null)
+		this.name = interner.apply(this.name);
+	if (this.descriptor != null)
+		this.descriptor = interner.apply(this.descriptor);
+	if (this.signature != null)
+		this.signature = interner.apply(this.signature);
+}
 /**
  * Return true if the field is a synthetic field, false otherwise.
  * @return boolean
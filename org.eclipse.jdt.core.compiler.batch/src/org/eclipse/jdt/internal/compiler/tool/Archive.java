@@ -20,6 +20,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Set;
@@ -30,6 +31,10 @@ import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 
 /**
  * Used as a zip file cache.
+ * <p>
+ * The packages and entries of the archive are shared with the other instances on the same archive
+ * through the {@link ArchiveIndex}, so the zip file is only opened and scanned if the archive changes.
+ * </p>
  */
 public class Archive implements Closeable {
 
@@ -40,21 +45,43 @@ public class Archive implements Closeable {
 
 	protected Hashtable<String, ArrayList<String[]>> packagesCache;
 
+	/**
+	 * The names of all the entries of the archive, including the directory entries.
+	 */
+	private Set<String> entryNames;
+
 	protected Archive() {
 		// used to construct UNKNOWN_ARCHIVE
 	}
 
 	public Archive(File file) throws ZipException, IOException {
 		this.file = file;
-		this.zipFile = new ZipFile(file);
 		initialize();
 	}
 
-	private void initialize() {
+	private void initialize() throws IOException {
+		ArchiveIndex.Entries entries = ArchiveIndex.get(this.file);
+		if (entries != null) {
+			this.packagesCache = entries.packages();
+			this.entryNames = entries.names();
+			return;
+		}
+		// read the modification time and size first, a concurrent change of the archive is then seen by the next instance
+		long lastModified = this.file.lastModified();
+		long length = this.file.length();
+		if (this.zipFile != null) {
+			// reopen the archive, it may have changed since it was opened
+			this.zipFile.close();
+		}
+		this.zipFile = new ZipFile(this.file);
 		// initialize packages
-		this.packagesCache = new Hashtable<>();
+		Hashtable<String, ArrayList<String[]>> packages = new Hashtable<>();
+		Set<String> names = new HashSet<>();
+		this.packagesCache = packages;
+		this.entryNames = names;
 		for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
 			String fileName = e.nextElement().getName();
+			names.add(fileName);
 
 			// add the package name & all of its parent packages
 			int last = fileName.lastIndexOf('/');
@@ -67,6 +94,7 @@ public class Archive implements Closeable {
 			}
 			cacheTypes(packageName, typeName);
 		}
+		ArchiveIndex.put(this.file, lastModified, length, new ArchiveIndex.Entries(packages, names));
 	}
 
 	protected void cacheTypes(String packageName, String typeName) {
@@ -87,12 +115,17 @@ public class Archive implements Closeable {
 	}
 
 	public boolean contains(String entryName) {
-		return this.zipFile.getEntry(entryName) != null;
+		if (this.entryNames == null && !initializeOrReport()) {
+			return false;
+		}
+		// like ZipFile.getEntry(), also find the directory entry of the given name
+		return this.entryNames.contains(entryName)
+				|| (!entryName.endsWith("/") && this.entryNames.contains(entryName + '/')); //$NON-NLS-1$
 	}
 
 	public Set<String> allPackages() {
-		if (this.packagesCache == null) {
-			this.initialize();
+		if (this.packagesCache == null && !initializeOrReport()) {
+			return Collections.emptySet();
 		}
 		return this.packagesCache.keySet();
 	}
@@ -105,31 +138,37 @@ public class Archive implements Closeable {
 	 */
 	public List<String[]> getTypes(String packageName) {
 		// package name is expected to ends with '/'
-		if (this.packagesCache == null) {
-			try {
-				this.zipFile = new ZipFile(this.file);
-			} catch(IOException e) {
-				String error = "Failed to read types from archive " + this.file; //$NON-NLS-1$
-				if (JRTUtil.PROPAGATE_IO_ERRORS) {
-					throw new IllegalStateException(error, e);
-				} else {
-					System.err.println(error);
-					e.printStackTrace();
-				}
-				return Collections.<String[]>emptyList();
-			}
-			this.initialize();
+		if (this.packagesCache == null && !initializeOrReport()) {
+			return Collections.<String[]>emptyList();
 		}
 		return this.packagesCache.get(packageName);
 	}
 
+	private boolean initializeOrReport() {
+		try {
+			this.initialize();
+			return true;
+		} catch(IOException e) {
+			String error = "Failed to read types from archive " + this.file; //$NON-NLS-1$
+			if (JRTUtil.PROPAGATE_IO_ERRORS) {
+				throw new IllegalStateException(error, e);
+			} else {
+				System.err.println(error);
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
 	public void flush() {
 		this.packagesCache = null;
+		this.entryNames = null;
 	}
 
 	@Override
 	public void close() {
 		this.packagesCache = null;
+		this.entryNames = null;
 		try {
 			if (this.zipFile != null) {
 				this.zipFile.close();
@@ -137,6 +176,7 @@ public class Archive implements Closeable {
 		} catch (IOException e) {
 			// ignore
 		}
+		this.zipFile = null;
 	}
 
 	@Override
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.tool;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of the packages and entries of the archives listed by the file managers.
+ * <p>
+ * Build tools create a new file manager for every compilation task, and each of them would
+ * otherwise open and scan the same archives again. The listing of an archive is reused by all
+ * the file managers as long as the size and the modification time of the archive don't change,
+ * and may be dropped by the garbage collector when memory runs low. The listings are never
+ * modified once cached, so they are shared without synchronization.
+ * </p>
+ * <p>
+ * The cache is disabled with <code>-Dorg.eclipse.jdt.disable_shared_archive_index=true</code>.
+ * </p>
+ */
+public final class ArchiveIndex {
+
+	static final boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.disable_shared_archive_index"); //$NON-NLS-1$
+
+	/**
+	 * The packages of an archive mapped to their entries, and the names of all the entries of the
+	 * archive, including the directory entries.
+	 */
+	record Entries(Hashtable<String, ArrayList<String[]>> packages, Set<String> names) {
+	}
+
+	private record Listing(long lastModified, long length, SoftReference<Entries> entries) {
+	}
+
+	private static final Map<File, Listing> LISTINGS = new ConcurrentHashMap<>();
+	private static final AtomicLong HITS = new AtomicLong();
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	private ArchiveIndex() {
+		// not instantiable
+	}
+
+	/**
+	 * Returns the entries of the given archive, as cached by a previous call to
+	 * {@link #put(File, long, long, Entries)}, or <code>null</code> if the archive must be scanned.
+	 * The result must not be modified.
+	 */
+	static Entries get(File archive) {
+		if (!ENABLED) {
+			return null;
+		}
+		Listing listing = LISTINGS.get(archive);
+		Entries entries = listing == null ? null : listing.entries().get();
+		if (entries == null || listing.lastModified() != archive.lastModified() || listing.length() != archive.length()) {
+			MISSES.incrementAndGet();
+			return null;
+		}
+		HITS.incrementAndGet();
+		return entries;
+	}
+
+	/**
+	 * Caches the entries of the given archive, as scanned when the archive had the given modification time and size.
+	 * The entries must not be modified afterwards.
+	 */
+	static void put(File archive, long lastModified, long length, Entries entries) {
+		if (ENABLED) {
+			LISTINGS.put(archive, new Listing(lastModified, length, new SoftReference<>(entries)));
+		}
+	}
+
+	/**
+	 * Returns the number of archive listings reused since the cache was last cleared.
+	 */
+	public static long getHits() {
+		return HITS.get();
+	}
+
+	/**
+	 * Returns the number of archives scanned since the cache was last cleared.
+	 */
+	public static long getMisses() {
+		return MISSES.get();
+	}
+
+	/**
+	 * Forgets all the archive listings and resets the counters.
+	 */
+	public static void clear() {
+		LISTINGS.clear();
+		HITS.set(0);
+		MISSES.set(0);
+	}
+}
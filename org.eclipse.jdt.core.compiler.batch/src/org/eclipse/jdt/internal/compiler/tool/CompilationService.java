@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.tool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * A long-lived compiler for the many small compilations of in-memory sources against the same
+ * classpath, e.g. of generated code.
+ * <p>
+ * Every task of {@link EclipseCompiler} sets up a new environment: it opens the archives of its
+ * classpath and reads again the class files of all the types its sources use. A compilation service
+ * opens its classpath once, and remembers the binary types found on the classpath, as well as the
+ * types not found, from one compilation to the next. The bindings are not kept between compilations
+ * since they are resolved against the sources of a compilation, so each compilation only builds the
+ * bindings of its sources and of the binary types they use, from the remembered binary types.
+ * </p>
+ * <p>
+ * The compilations of a service are performed one at a time, and don't process annotations.
+ * </p>
+ * <pre>
+ * try (CompilationService service = new CompilationService(Map.of(), List.of("lib.jar"))) {
+ *     CompilationService.Result result = service.compile(Map.of("p/X.java", "package p; public class X {}"));
+ *     byte[] bytes = result.classFiles().get("p.X");
+ * }
+ * </pre>
+ */
+public class CompilationService implements AutoCloseable {
+
+	/**
+	 * The outcome of a compilation.
+	 *
+	 * @param success whether the sources were compiled without errors
+	 * @param classFiles the contents of the class files generated from the sources, by binary name of their types
+	 * @param diagnostics the problems found in the sources
+	 */
+	public record Result(boolean success, Map<String, byte[]> classFiles, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+	}
+
+	/*
+	 * A file system remembering the types found and not found on its classpath.
+	 */
+	private static final class WarmFileSystem extends FileSystem {
+
+		private final Map<String, NameEnvironmentAnswer> answers = new HashMap<>();
+
+		WarmFileSystem(Classpath[] classpaths) {
+			super(classpaths, null, false, null);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+			if (compoundName == null)
+				return null;
+			return remember(CharOperation.concatWith(compoundName, '/'), moduleName, () -> super.findType(compoundName, moduleName));
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName, char[] moduleName) {
+			if (typeName == null)
+				return null;
+			return remember(CharOperation.concatWith(packageName, typeName, '/'), moduleName, () -> super.findType(typeName, packageName, moduleName));
+		}
+
+		private NameEnvironmentAnswer remember(char[] qualifiedName, char[] moduleName, Supplier<NameEnvironmentAnswer> lookup) {
+			String key = moduleName == null ? new String(qualifiedName) : new String(CharOperation.concat(moduleName, qualifiedName, ':'));
+			NameEnvironmentAnswer answer;
+			if (this.answers.containsKey(key)) {
+				answer = this.answers.get(key);
+			} else {
+				answer = lookup.get();
+				// a source found on the classpath is parsed again by every compilation
+				if (answer != null && !answer.isBinaryType())
+					return answer;
+				this.answers.put(key, answer);
+			}
+			// the lookup environment of a compilation records its module binding in the answer
+			return answer == null ? null : new NameEnvironmentAnswer(answer.getBinaryType(), answer.getAccessRestriction(), answer.moduleName());
+		}
+
+		@Override
+		public void cleanup() {
+			// keep the classpath open, see CompilationService.close()
+		}
+
+		void close() {
+			this.answers.clear();
+			super.cleanup();
+		}
+	}
+
+	private final Map<String, String> options;
+	private final WarmFileSystem environment;
+	private final DefaultProblemFactory problemFactory;
+
+	/**
+	 * Creates a compilation service and opens its classpath.
+	 *
+	 * @param options the compiler options, as defined by {@link CompilerOptions}; the sources are compiled
+	 *        at the latest supported compliance level unless specified otherwise
+	 * @param classpath the jar files and directories on the classpath, in addition to the system classes of
+	 *        the running Java runtime
+	 */
+	public CompilationService(Map<String, String> options, List<String> classpath) {
+		this.options = new HashMap<>();
+		String latest = CompilerOptions.getLatestVersion();
+		this.options.put(CompilerOptions.OPTION_Compliance, latest);
+		this.options.put(CompilerOptions.OPTION_Source, latest);
+		this.options.put(CompilerOptions.OPTION_TargetPlatform, latest);
+		this.options.putAll(options);
+		this.options.put(CompilerOptions.OPTION_Process_Annotations, CompilerOptions.DISABLED);
+
+		List<Classpath> classpaths = new ArrayList<>();
+		classpaths.add(FileSystem.getJrtClasspath(Util.getJavaHome().toString(), null, null, null));
+		for (String entry : classpath) {
+			Classpath classpathEntry = FileSystem.getClasspath(entry, null, null, this.options, null);
+			if (classpathEntry != null)
+				classpaths.add(classpathEntry);
+		}
+		this.environment = new WarmFileSystem(classpaths.toArray(new Classpath[classpaths.size()]));
+		this.problemFactory = new DefaultProblemFactory(Locale.getDefault());
+	}
+
+	/**
+	 * Compiles the given sources.
+	 *
+	 * @param sources the contents of the sources by file name, e.g. <code>p/X.java</code>
+	 */
+	public Result compile(Map<String, ? extends CharSequence> sources) {
+		ICompilationUnit[] units = new ICompilationUnit[sources.size()];
+		int i = 0;
+		for (Map.Entry<String, ? extends CharSequence> source : sources.entrySet()) {
+			units[i++] = new CompilationUnit(source.getValue().toString().toCharArray(), source.getKey(), null);
+		}
+		return compile(units);
+	}
+
+	/**
+	 * Compiles the given sources.
+	 *
+	 * @throws IOException if the contents of a source cannot be read
+	 */
+	public Result compile(Iterable<? extends JavaFileObject> sources) throws IOException {
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (JavaFileObject source : sources) {
+			units.add(new CompilationUnit(source.getCharContent(true).toString().toCharArray(), source.getName(), null));
+		}
+		return compile(units.toArray(new ICompilationUnit[units.size()]));
+	}
+
+	private synchronized Result compile(ICompilationUnit[] units) {
+		Map<String, byte[]> classFiles = new LinkedHashMap<>();
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+		boolean[] hasErrors = new boolean[1];
+		ICompilerRequestor requestor = (CompilationResult result) -> {
+			if (result.hasErrors())
+				hasErrors[0] = true;
+			CategorizedProblem[] problems = result.getProblems();
+			if (problems != null) {
+				for (CategorizedProblem problem : problems) {
+					diagnostics.add(EclipseDiagnostic.newInstance(problem, this.problemFactory));
+				}
+			}
+			for (ClassFile classFile : result.getClassFiles()) {
+				classFiles.put(new String(classFile.fileName()).replace('/', '.'), classFile.getBytes());
+			}
+		};
+		CompilerOptions compilerOptions = new CompilerOptions(this.options);
+		compilerOptions.performMethodsFullRecovery = false;
+		compilerOptions.performStatementsRecovery = false;
+		Compiler compiler = new Compiler(this.environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				compilerOptions, requestor, this.problemFactory);
+		compiler.compile(units);
+		return new Result(!hasErrors[0], classFiles, diagnostics);
+	}
+
+	/**
+	 * Closes the classpath. The service must not be used afterwards.
+	 */
+	@Override
+	public synchronized void close() {
+		this.environment.close();
+	}
+}
@@ -24,6 +24,7 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import junit.framework.Test;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -116,6 +117,33 @@ public class StateTest extends BuilderTests {
 		writeReadAndCompareReferences(project);
 	}
 
+	public void testSecondaryTypeLocators() throws JavaModelException, Exception {
+		IPath project = env.addProject("SecondaryTypeLocators"); //$NON-NLS-1$
+		env.addExternalJars(project, Util.getJavaClassLibs());
+
+		env.addClass(project, "a", "WithOther", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"class Other {\n" +
+			"	class Member {}\n" +
+			"}\n" +
+			"public class WithOther {\n" +
+			"	Object o = new Object() {};\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(project, "", "Default", //$NON-NLS-1$ //$NON-NLS-2$
+			"class DefaultOther {\n" +
+			"}\n" +
+			"public class Default {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(env.getProject(project));
+		State state = (State) info.savedState;
+		assertEquals("{DefaultOther=Default.java, a/Other=a/WithOther.java}", //$NON-NLS-1$
+				new TreeMap<>(state.getSecondaryTypeLocators()).toString());
+	}
+
 	public void testBug567532() throws JavaModelException, Exception {
 		IPath project = env.addProject("Bug567532"); //$NON-NLS-1$
 		String[] classLibs = Util.getJavaClassLibs();
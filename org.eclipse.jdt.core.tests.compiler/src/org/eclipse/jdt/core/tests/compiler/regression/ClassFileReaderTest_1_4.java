@@ -2880,4 +2880,32 @@ public class ClassFileReaderTest_1_4 extends AbstractRegressionTest {
 		}
 	}
 
+	public void testCompact() throws Exception {
+		String source =
+			"public class X {\n" +
+			"	String f;\n" +
+			"	String g;\n" +
+			"	void foo(String s) throws Exception {}\n" +
+			"	void bar(String s) throws Exception {}\n" +
+			"}";
+		org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader classFileReader = getInternalClassFile("", "X", "X", source);
+		java.util.Map<String, char[]> symbols = new java.util.HashMap<>();
+		classFileReader.compact(name -> symbols.computeIfAbsent(new String(name), k -> name));
+
+		IBinaryMethod foo = null, bar = null;
+		for (IBinaryMethod method : classFileReader.getMethods()) {
+			if (CharOperation.equals(method.getSelector(), "foo".toCharArray()))
+				foo = method;
+			else if (CharOperation.equals(method.getSelector(), "bar".toCharArray()))
+				bar = method;
+		}
+		assertNotNull("No foo", foo);
+		assertNotNull("No bar", bar);
+		assertEquals("Wrong descriptor", "(Ljava/lang/String;)V", new String(foo.getMethodDescriptor()));
+		assertSame("Descriptor not shared", foo.getMethodDescriptor(), bar.getMethodDescriptor());
+		assertSame("Exception name not shared", foo.getExceptionTypeNames()[0], bar.getExceptionTypeNames()[0]);
+		org.eclipse.jdt.internal.compiler.env.IBinaryField[] fields = classFileReader.getFields();
+		assertEquals("Wrong size", 2, fields.length);
+		assertSame("Type name not shared", fields[0].getTypeName(), fields[1].getTypeName());
+	}
 }
@@ -46,6 +46,7 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions.Alignment;
+import org.eclipse.jdt.internal.formatter.linewrap.WrapExecutor;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.text.edits.TextEdit;
@@ -16490,4 +16491,62 @@ public void testIssue2977() {
 		""",
 		CodeFormatter.K_COMPILATION_UNIT);
 }
+/*
+ * Comments and lines outside of the format regions are left unchanged
+ */
+public void testFormatRegionsScope() {
+	String source =
+		"""
+		/**
+		 *    Javadoc   that is not   in the region.
+		 */
+		class A {
+			void foo() {
+		[#		int   a  =  1;#]
+				int   b  =  2;  /*   comment   outside   */
+			}
+			/**    Another   javadoc. */
+			void   bar() {   }
+		}
+		""";
+	formatSource(source,
+		"""
+		/**
+		 *    Javadoc   that is not   in the region.
+		 */
+		class A {
+			void foo() {
+				int a = 1;
+				int   b  =  2;  /*   comment   outside   */
+			}
+			/**    Another   javadoc. */
+			void   bar() {   }
+		}
+		""");
+}
+/*
+ * Once the line wrap search budget is exceeded, the remaining lines are still wrapped to fit in the page width
+ */
+public void testWrapSearchBudget() {
+	StringBuilder chain = new StringBuilder("class A {\n\tObject foo(Builder builder) {\n\t\treturn builder");
+	for (int i = 0; i < 40; i++)
+		chain.append(".with(").append(i).append(", value").append(i).append(')');
+	String source = chain.append(".build();\n\t}\n}\n").toString();
+	int budget = WrapExecutor.SEARCH_BUDGET;
+	try {
+		String searched = runFormatter(codeFormatter(), source, CodeFormatter.K_COMPILATION_UNIT, 0, 0, source.length(), LINE_SEPARATOR, false);
+		WrapExecutor.SEARCH_BUDGET = 1;
+		String greedy = runFormatter(codeFormatter(), source, CodeFormatter.K_COMPILATION_UNIT, 0, 0, source.length(), LINE_SEPARATOR, false);
+		assertNotNull(greedy);
+		assertEquals("Unexpected tokens", searched.replaceAll("\\s", ""), greedy.replaceAll("\\s", ""));
+		String[] lines = greedy.split("\\R");
+		assertTrue("Should be wrapped", lines.length > 5);
+		for (String line : lines) {
+			int width = line.replace("\t", "    ").length();
+			assertTrue("Line too long: " + line, width <= this.formatterPrefs.page_width);
+		}
+	} finally {
+		WrapExecutor.SEARCH_BUDGET = budget;
+	}
+}
 }
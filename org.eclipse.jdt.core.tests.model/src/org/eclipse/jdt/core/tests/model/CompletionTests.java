@@ -15993,6 +15993,69 @@ public void testConstructor7() throws JavaModelException {
 			"   TestConstructor1[TYPE_REF]{TestConstructor1, test, Ltest.TestConstructor1;, null, null, "+(R_DEFAULT + R_RESOLVED + R_INTERESTING + R_CASE + R_UNQUALIFIED + R_NON_RESTRICTED + R_CONSTRUCTOR)+"}",
 			requestor.getResults());
 }
+/*
+ * Once the time budget is exceeded, completion proposes the types instead of the constructors,
+ * as it does without a progress monitor, for the rest of the completion.
+ */
+public void testConstructorTimeBudget() throws JavaModelException {
+	this.workingCopies = new ICompilationUnit[2];
+	this.workingCopies[0] = getWorkingCopy(
+		"/Completion/src/test/Test.java",
+		"package test;"+
+		"public class Test {\n" +
+		"        class TestConstructorMember1 {\n" +
+		"                TestConstructorMember1(int i) {}\n" +
+		"        }\n" +
+		"        class TestConstructorMember2 {\n" +
+		"                TestConstructorMember2(String s) {}\n" +
+		"        }\n" +
+		"        public void foo(Object o) {\n" +
+		"                new TestConstructor\n" +
+		"        }\n" +
+		"}");
+	this.workingCopies[1] = getWorkingCopy(
+		"/Completion/src/test/TestConstructor1.java",
+		"package test;"+
+		"public class TestConstructor1 {\n" +
+		"        public TestConstructor1(int[] i) {\n" +
+		"        }\n" +
+		"}");
+	String str = this.workingCopies[0].getSource();
+	String completeBehind = "TestConstructor";
+	int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+
+	CompletionTestsRequestor2 expected = new CompletionTestsRequestor2(true, false, false, true, true);
+	expected.allowAllRequiredProposals();
+	this.workingCopies[0].codeComplete(cursorLocation, expected, this.wcOwner);
+
+	long budget = CompletionEngine.LONG_COMPUTATION_TIME_BUDGET;
+	try {
+		CompletionEngine.LONG_COMPUTATION_TIME_BUDGET = 0;
+		CompletionTestsRequestor2 unbounded = new CompletionTestsRequestor2(true, false, false, true, true);
+		unbounded.allowAllRequiredProposals();
+		this.workingCopies[0].codeComplete(cursorLocation, unbounded, this.wcOwner, new NullProgressMonitor());
+		assertTrue("Should propose constructors", unbounded.getResults().contains("CONSTRUCTOR_INVOCATION"));
+
+		CompletionEngine.LONG_COMPUTATION_TIME_BUDGET = 1;
+		CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2(true, false, false, true, true) {
+			@Override
+			public void acceptContext(CompletionContext cc) {
+				super.acceptContext(cc);
+				try {
+					Thread.sleep(10); // exceed the budget before the proposals are computed
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		requestor.allowAllRequiredProposals();
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner, new NullProgressMonitor());
+
+		assertResults(expected.getResults(), requestor.getResults());
+	} finally {
+		CompletionEngine.LONG_COMPUTATION_TIME_BUDGET = budget;
+	}
+}
 // https://bugs.eclipse.org/bugs/show_bug.cgi?id=127296
 public void testDeprecationCheck1() throws JavaModelException {
 	String optionValue = getSetCodeAssistProperty(JavaCore.CODEASSIST_DEPRECATION_CHECK, JavaCore.DISABLED);
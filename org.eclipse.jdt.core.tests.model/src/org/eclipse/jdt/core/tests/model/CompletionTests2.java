@@ -497,6 +497,48 @@ public void testBug6930_01() throws Exception {
 		deleteProject("P");
 	}
 }
+public void testTypesOfPreviousCompletion() throws Exception {
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[]{"JCL18_LIB"}, "bin");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/ZZCache1.java", "package p;\npublic class ZZCache1 {}\n");
+		createFile("/P/src/p/ZZOther.java", "package p;\npublic class ZZOther {}\n");
+		waitUntilIndexesReady();
+
+		this.workingCopies = new ICompilationUnit[1];
+		this.workingCopies[0] = getWorkingCopy(
+				"/P/src/test/Test.java",
+				"package test;\n" +
+				"public class Test {\n" +
+				"  void foo() {\n" +
+				"    ZZ\n" +
+				"  }\n" +
+				"}");
+		String results = completeTypesAfter("ZZ");
+		assertTrue(results, results.contains("ZZCache1[TYPE_REF]") && results.contains("ZZOther[TYPE_REF]"));
+
+		// a longer name is answered from the types of the previous completion
+		this.workingCopies[0].getBuffer().setContents(this.workingCopies[0].getSource().replace("ZZ\n", "ZZCache\n"));
+		this.workingCopies[0].reconcile(ICompilationUnit.NO_AST, false, null, null);
+		results = completeTypesAfter("ZZCache");
+		assertTrue(results, results.contains("ZZCache1[TYPE_REF]") && !results.contains("ZZOther[TYPE_REF]"));
+
+		// a new type is found once the Java model changed
+		createFile("/P/src/p/ZZCache2.java", "package p;\npublic class ZZCache2 {}\n");
+		waitUntilIndexesReady();
+		results = completeTypesAfter("ZZCache");
+		assertTrue(results, results.contains("ZZCache1[TYPE_REF]") && results.contains("ZZCache2[TYPE_REF]"));
+	} finally {
+		deleteProject("P");
+	}
+}
+private String completeTypesAfter(String completeBehind) throws JavaModelException {
+	CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2();
+	String str = this.workingCopies[0].getSource();
+	int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+	this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner, new NullProgressMonitor());
+	return requestor.getResults();
+}
 private String getSetCodeAssistProperty(IJavaProject project, String property, String value) {
 	String old = project.getOption(property, true);
 	project.setOption(property, value);
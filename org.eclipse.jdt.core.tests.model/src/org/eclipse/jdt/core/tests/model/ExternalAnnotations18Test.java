@@ -3041,6 +3041,54 @@ public class ExternalAnnotations18Test extends ModifyingResourceTests {
 		internalTestMixedArtifactsTest();
 	}
 
+	/*
+	 * Reconciles must see the .eea files added to or removed from the classpath of a project taking
+	 * external annotations from all locations, although the binary types decorated with the external
+	 * annotations are reused from one reconcile to the next.
+	 */
+	public void testEEAChangeSeenByReconcile() throws CoreException, IOException {
+		myCreateJavaProject("PrjTest");
+		this.project.setOption(JavaCore.CORE_JAVA_BUILD_EXTERNAL_ANNOTATIONS_FROM_ALL_LOCATIONS, JavaCore.ENABLED);
+
+		String projectLoc = this.project.getProject().getLocation().toString();
+		Util.createJar(
+				new String[] { "lib/pgen/CGen.java", mixedArtifacts_CGen_java_content },
+				projectLoc+"/lib/prj1.jar", "1.8");
+		addClasspathEntry(this.project,
+				JavaCore.newLibraryEntry(new Path("/PrjTest/lib/prj1.jar"), null/*access rules*/, null, false/*exported*/));
+		this.project.getProject().refreshLocal(IResource.DEPTH_INFINITE, null);
+		createFileInProject("src/p", "Use.java",
+				"package p;\n" +
+				"import lib.pgen.CGen;\n" +
+				"public class Use {\n" +
+				"	public void test(CGen c) {\n" +
+				"		c.get(null);\n" + // problem here (5) when annotated
+				"	}\n" +
+				"}\n");
+		ICompilationUnit unit = JavaCore
+				.createCompilationUnitFrom(this.project.getProject().getFile("src/p/Use.java"))
+				.getWorkingCopy(null);
+		try {
+			CompilationUnit reconciled = unit.reconcile(getJLS8(), true, null, new NullProgressMonitor());
+			assertNoProblems(reconciled.getProblems());
+
+			// an .eea file in a source folder applies to the binary type of the same package
+			createFileInProject("src/lib/pgen", "CGen.eea", mixedArtifacts_CGen_eea_content);
+			reconciled = unit.reconcile(getJLS8(), true, null, new NullProgressMonitor());
+			assertProblems(reconciled.getProblems(),
+				new String[] {
+					"Pb(910) Null type mismatch: required '@NonNull String' but the provided value is null"
+				},
+				new int[] { 5 });
+
+			deleteFile("/PrjTest/src/lib/pgen/CGen.eea");
+			reconciled = unit.reconcile(getJLS8(), true, null, new NullProgressMonitor());
+			assertNoProblems(reconciled.getProblems());
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
 	public void testSeparateAnnotationJarInContainer() throws CoreException, IOException {
 		// .eeas are deployed as a member of a classpath container
 		// referenced relative to the container.
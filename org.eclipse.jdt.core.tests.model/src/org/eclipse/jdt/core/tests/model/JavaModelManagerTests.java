@@ -2,6 +2,8 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.concurrent.CountDownLatch;
 import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
@@ -51,6 +53,57 @@ public class JavaModelManagerTests extends AbstractJavaModelTests {
 		}
 	}
 
+	/*
+	 * The secondary types must not be initialized from a built state that misses the changes
+	 * made since the last build, unless requested.
+	 */
+	public void testSecondaryTypesNotFromStaleBuiltState() throws Exception {
+		try {
+			IJavaProject project = createJavaProject("P", new String[] {"src"}, "bin");
+			createFolder("/P/src/p");
+			createFile("/P/src/p/A.java",
+				"package p;\n" +
+				"public class A {}\n" +
+				"class SecondaryA {}");
+			buildProject(project);
+			createFile("/P/src/p/B.java",
+				"package p;\n" +
+				"public class B {}\n" +
+				"class SecondaryB {}");
+			simulateExitRestart();
+			waitUntilIndexesReady();
+
+			Map<String, Map<String, IType>> secondaryTypes = JavaModelManager.getJavaModelManager().secondaryTypes(getJavaProject("P"), true, NULL_MONITOR);
+			assertEquals("Unexpected secondary types", "[SecondaryA, SecondaryB]", new TreeSet<>(secondaryTypes.get("p").keySet()).toString());
+		} finally {
+			deleteProject("P");
+		}
+	}
+
+	/*
+	 * The secondary types can be initialized from the built states on request, without waiting for the indexes.
+	 */
+	public void testSecondaryTypesFromBuiltState() throws Exception {
+		boolean secondaryTypesFromState = JavaModelManager.SECONDARY_TYPES_FROM_STATE;
+		try {
+			JavaModelManager.SECONDARY_TYPES_FROM_STATE = true;
+			IJavaProject project = createJavaProject("P", new String[] {"src"}, "bin");
+			createFolder("/P/src/p");
+			createFile("/P/src/p/A.java",
+				"package p;\n" +
+				"public class A {}\n" +
+				"class SecondaryA {}");
+			buildProject(project);
+			simulateExitRestart();
+
+			Map<String, Map<String, IType>> secondaryTypes = JavaModelManager.getJavaModelManager().secondaryTypes(getJavaProject("P"), false, NULL_MONITOR);
+			assertEquals("Unexpected secondary types", "[SecondaryA]", new TreeSet<>(secondaryTypes.get("p").keySet()).toString());
+		} finally {
+			JavaModelManager.SECONDARY_TYPES_FROM_STATE = secondaryTypesFromState;
+			deleteProject("P");
+		}
+	}
+
 	private void doTestBug548456_concurrentCallBinaryTypeExists(int numberOfThreads) throws Exception {
 		final IJavaProject project = setUpJavaProject(PROJECT_NAME);
 		try {
@@ -29,6 +29,8 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.JavaSearchResultCollector;
 import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.TypeNameMatchCollector;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.search.SearchSession;
+import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
 import org.eclipse.jdt.internal.core.search.matching.PatternLocator;
 
 /**
@@ -1575,4 +1577,133 @@ public void testBug250454_jars() throws CoreException, IOException {
 		deleteProject("P2");
 	}
 }
+/*
+ * Consecutive searches in a search session reuse the name environments
+ * and see the changes of the Java model made between them.
+ */
+public void testSearchSession() throws CoreException {
+	try {
+		createJavaProject("P1");
+		createFolder("/P1/p1");
+		createFile(
+			"/P1/p1/X.java",
+			"package p1;\n" +
+			"public class X {\n" +
+			"}\n"
+		);
+		createJavaProject("P2", new String[] {""}, new String[] {"JCL18_LIB"}, new String[] { "/P1" }, "");
+		createFolder("/P2/p2");
+		createFile(
+			"/P2/p2/Y.java",
+			"package p2;\n" +
+			"public class Y {\n" +
+			"	p1.X x;\n" +
+			"}\n"
+		);
+
+		IType type = getCompilationUnit("/P1/p1/X.java").getType("X");
+		SearchPattern pattern = SearchPattern.createPattern(type, REFERENCES);
+		try (SearchSession session = SearchSession.open()) {
+			JavaSearchResultCollector resultCollector = new JavaSearchResultCollector();
+			resultCollector.showProject();
+			new SearchEngine().search(pattern, new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()}, SearchEngine.createWorkspaceScope(), resultCollector, null);
+			assertSearchResults(
+				"Unexpected references in first search",
+				"p2/Y.java [in P2] p2.Y.x [p1.X]",
+				resultCollector);
+
+			resultCollector = new JavaSearchResultCollector();
+			resultCollector.showProject();
+			new SearchEngine().search(pattern, new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()}, SearchEngine.createWorkspaceScope(), resultCollector, null);
+			assertSearchResults(
+				"Unexpected references in second search",
+				"p2/Y.java [in P2] p2.Y.x [p1.X]",
+				resultCollector);
+
+			createFile(
+				"/P2/p2/Z.java",
+				"package p2;\n" +
+				"import p1.X;\n" +
+				"public class Z extends X {\n" +
+				"}\n"
+			);
+			resultCollector = new JavaSearchResultCollector();
+			resultCollector.showProject();
+			new SearchEngine().search(pattern, new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()}, SearchEngine.createWorkspaceScope(), resultCollector, null);
+			assertSearchResults(
+				"Unexpected references after change",
+				"p2/Y.java [in P2] p2.Y.x [p1.X]\n" +
+				"p2/Z.java [in P2] [p1.X]\n" +
+				"p2/Z.java [in P2] p2.Z [X]",
+				resultCollector);
+		}
+	} finally {
+		deleteProject("P1");
+		deleteProject("P2");
+	}
+}
+/*
+ * Ensures that the matches located in several projects at once are the same, and are reported
+ * in the same order, as the matches located one project after the other.
+ */
+public void testParallelMatchLocation() throws CoreException {
+	int threadCount = MatchLocator.MATCH_LOCATION_THREAD_COUNT;
+	try {
+		createJavaProject("P1");
+		createFolder("/P1/p1");
+		createFile(
+			"/P1/p1/X.java",
+			"package p1;\n" +
+			"public class X {\n" +
+			"	public void foo() {}\n" +
+			"}\n"
+		);
+		for (int i = 2; i <= 5; i++) {
+			createJavaProject("P" + i, new String[] {""}, new String[] {"JCL18_LIB"}, new String[] { "/P1" }, "");
+			createFolder("/P" + i + "/p" + i);
+			createFile(
+				"/P" + i + "/p" + i + "/Y.java",
+				"package p" + i + ";\n" +
+				"public class Y extends p1.X {\n" +
+				"	p1.X x;\n" +
+				"	void bar() {\n" +
+				"		this.x.foo();\n" +
+				"		foo();\n" +
+				"	}\n" +
+				"}\n"
+			);
+		}
+		IType type = getCompilationUnit("/P1/p1/X.java").getType("X");
+		SearchPattern[] patterns = {
+			SearchPattern.createPattern(type, REFERENCES),
+			SearchPattern.createPattern(type.getMethod("foo", new String[0]), REFERENCES),
+		};
+		for (SearchPattern pattern : patterns) {
+			IJavaSearchScope[] scopes = {
+				SearchEngine.createWorkspaceScope(),
+				SearchEngine.createHierarchyScope(type),
+			};
+			for (IJavaSearchScope scope : scopes) {
+				// first in parallel, so that the hierarchy scope is not initialized yet
+				MatchLocator.MATCH_LOCATION_THREAD_COUNT = 4;
+				JavaSearchResultCollector parallel = new JavaSearchResultCollector();
+				parallel.showProject();
+				new SearchEngine().search(pattern, new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()}, scope, parallel, null);
+
+				MatchLocator.MATCH_LOCATION_THREAD_COUNT = 1;
+				JavaSearchResultCollector sequential = new JavaSearchResultCollector();
+				sequential.showProject();
+				new SearchEngine().search(pattern, new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()}, scope, sequential, null);
+
+				assertFalse("No matches for " + pattern + " in " + scope, sequential.toString().isEmpty());
+				assertEquals("Unexpected matches for " + pattern + " in " + scope, sequential.toString(), parallel.toString());
+			}
+		}
+	} finally {
+		MatchLocator.MATCH_LOCATION_THREAD_COUNT = threadCount;
+		for (int i = 1; i <= 5; i++) {
+			deleteProject("P" + i);
+		}
+	}
+}
 }
@@ -4738,4 +4738,134 @@ private static IMethod findMethod(IJavaProject project, String typeFqn, String m
 	assertNotNull("Failed to find method: " + methodName + ", in type: " + typeFqn, testMethod);
 	return testMethod;
 }
+/*
+ * The sources scanned before parsing them for a type reference search are only discarded
+ * when they contain no reference to the type.
+ */
+public void testTypeReferencePrefilter1() throws CoreException {
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL18_LIB"}, "bin", "1.8");
+		createFolder("/P/src/lib/util");
+		createFile("/P/src/lib/util/Tool.java",
+			"package lib.util;\n" +
+			"public class Tool {}");
+		createFolder("/P/src/other");
+		createFile("/P/src/other/Tool.java",
+			"package other;\n" +
+			"public class Tool {}");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/A.java",
+			"package p;\n" +
+			"import lib.util.Tool;\n" +
+			"public class A {\n" +
+			"	Tool tool;\n" +
+			"}");
+		createFile("/P/src/p/B.java",
+			"package p;\n" +
+			"import other.Tool;\n" +
+			"public class B {\n" +
+			"	Tool tool;\n" +
+			"}");
+		search(
+			"lib.util.Tool",
+			TYPE,
+			REFERENCES,
+			SearchEngine.createJavaSearchScope(new IJavaElement[] {getPackageFragment("P", "src", "p")}),
+			this.resultCollector);
+		assertSearchResults(
+			"src/p/A.java [lib.util.Tool]\n" +
+			"src/p/A.java p.A.tool [Tool]",
+			this.resultCollector);
+	} finally {
+		deleteProject("P");
+	}
+}
+/*
+ * The package of a reference may be written with unicode escapes.
+ */
+public void testTypeReferencePrefilter2() throws CoreException {
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL18_LIB"}, "bin", "1.8");
+		createFolder("/P/src/lib/util");
+		createFile("/P/src/lib/util/Tool.java",
+			"package lib.util;\n" +
+			"public class Tool {}");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"	lib.\\u0075til.Tool tool;\n" +
+			"}");
+		search(
+			"lib.util.Tool",
+			TYPE,
+			REFERENCES,
+			SearchEngine.createJavaSearchScope(new IJavaElement[] {getPackageFragment("P", "src", "p")}),
+			this.resultCollector);
+		assertSearchResults(
+			"src/p/A.java p.A.tool [lib.\\u0075til.Tool]",
+			this.resultCollector);
+	} finally {
+		deleteProject("P");
+	}
+}
+/*
+ * A type may be imported by a module import, which doesn't name its package.
+ */
+public void testTypeReferencePrefilter3() throws CoreException {
+	if (!isJRE24)
+		return;
+	try {
+		IJavaProject project = createJava9ProjectWithJREAttributes("P", new String[] {"src"}, null, "24");
+		project.setOption(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES, JavaCore.ENABLED);
+		project.setOption(JavaCore.COMPILER_PB_REPORT_PREVIEW_FEATURES, JavaCore.IGNORE);
+		createFolder("/P/src/p");
+		createFile("/P/src/p/A.java",
+			"package p;\n" +
+			"import module java.base;\n" +
+			"public class A {\n" +
+			"	List<String> names;\n" +
+			"}");
+		waitUntilIndexesReady();
+		search(
+			"java.util.List",
+			TYPE,
+			REFERENCES,
+			SearchEngine.createJavaSearchScope(new IJavaElement[] {getPackageFragment("P", "src", "p")}),
+			this.resultCollector);
+		assertSearchResults(
+			"src/p/A.java p.A.names [List]",
+			this.resultCollector);
+	} finally {
+		deleteProject("P");
+	}
+}
+/*
+ * A compact compilation unit implicitly imports all the packages of java.base.
+ */
+public void testTypeReferencePrefilter4() throws CoreException {
+	if (!isJRE24)
+		return;
+	try {
+		IJavaProject project = createJava9ProjectWithJREAttributes("P", new String[] {"src"}, null, "24");
+		project.setOption(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES, JavaCore.ENABLED);
+		project.setOption(JavaCore.COMPILER_PB_REPORT_PREVIEW_FEATURES, JavaCore.IGNORE);
+		createFile("/P/src/Main.java",
+			"List<String> names;\n" +
+			"void main() {\n" +
+			"}");
+		waitUntilIndexesReady();
+		search(
+			"java.util.List",
+			TYPE,
+			REFERENCES,
+			SearchEngine.createJavaSearchScope(new IJavaElement[] {getPackageFragment("P", "src", "")}),
+			this.resultCollector);
+		assertSearchResults(
+			"src/Main.java Main.names [List]",
+			this.resultCollector);
+	} finally {
+		deleteProject("P");
+	}
+}
 }
@@ -33,6 +33,7 @@ import org.eclipse.jdt.internal.core.JavaModelCache;
 import org.eclipse.jdt.internal.core.Openable;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragmentRoot;
+import org.eclipse.jdt.internal.core.util.ConcurrentLRUCache;
 import org.eclipse.jdt.internal.core.util.LRUCache.LRUCacheEntry;
 import org.eclipse.jdt.internal.core.util.MementoTokenizer;
 
@@ -698,6 +699,33 @@ public class OverflowingCacheTests extends ModifyingResourceTests {
 		assertEquals("overflow space incorrect (after flush)", 0, actualOverflow);
 	}
 
+	/**
+	 * Tests that a ConcurrentLRUCache stays within its space limit and
+	 * gives a second chance to recently read entries.
+	 */
+	public void testConcurrentCacheSecondChance() {
+		ConcurrentLRUCache<Integer, MockInfo> cache = new ConcurrentLRUCache<>(100);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, new MockInfo(i));
+		}
+		assertEquals("current space incorrect", 100, cache.getCurrentSpace());
+
+		// read the oldest entry so it is not the first one to go
+		assertEquals("unexpected value", new MockInfo(0), cache.get(0));
+		cache.put(100, new MockInfo(100));
+
+		assertEquals("current space incorrect (after put)", 100, cache.getCurrentSpace());
+		assertNotNull("recently read entry should be kept", cache.peek(0));
+		assertNull("least recently used entry should be evicted", cache.peek(1));
+		assertEquals("unexpected evictions", 1, cache.getEvictions());
+		assertEquals("unexpected hits", 1, cache.getHits());
+
+		cache.flush(0);
+		assertNull("flushed entry should be removed", cache.get(0));
+		assertEquals("current space incorrect (after flush)", 99, cache.getCurrentSpace());
+		assertEquals("unexpected misses", 1, cache.getMisses());
+	}
+
 	static class MockInfo extends JavaElementInfo {
 		private final int index;
 
@@ -41,6 +41,7 @@ import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.LocalVariable;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.matching.TypeDeclarationPattern;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
 
 /*
@@ -685,6 +686,107 @@ public void testRemoveOuterFolder() throws CoreException {
 		deleteProject("P1");
 	}
 }
+/*
+ * Ensures that the compilation units added or changed in several projects by a single operation are all indexed,
+ * and that the compilation units removed by the same operation are removed from the index.
+ */
+public void testChangeManyFilesInTwoProjects() throws CoreException {
+	try {
+		createJavaProject("P1");
+		createJavaProject("P2");
+		createFolder("/P1/a");
+		createFolder("/P2/b");
+		createFile("/P1/a/A0.java", "package a;\npublic class A0 {\n}");
+		createFile("/P1/a/Gone.java", "package a;\npublic class Gone {\n}");
+		createFile("/P2/b/B0.java", "package b;\npublic class B0 {\n}");
+		assertAllTypes(
+			"Unexpected all types after setup",
+			null,
+			"a.A0\n" +
+			"a.Gone\n" +
+			"b.B0"
+		);
+
+		getWorkspace().run(new IWorkspaceRunnable() {
+			public void run(IProgressMonitor monitor) throws CoreException {
+				for (int i = 1; i <= 5; i++) {
+					createFile("/P1/a/A" + i + ".java", "package a;\npublic class A" + i + " {\n}");
+					createFile("/P2/b/B" + i + ".java", "package b;\npublic class B" + i + " extends a.A" + i + " {\n}");
+				}
+				editFile("/P2/b/B0.java", "package b;\npublic class B0 {\n}\nclass B0Helper {\n}");
+				deleteFile("/P1/a/Gone.java");
+			}
+		}, null);
+		assertAllTypes(
+			"Unexpected all types after changes",
+			null,
+			"a.A0\n" +
+			"a.A1\n" +
+			"a.A2\n" +
+			"a.A3\n" +
+			"a.A4\n" +
+			"a.A5\n" +
+			"b.B0\n" +
+			"b.B0Helper\n" +
+			"b.B1\n" +
+			"b.B2\n" +
+			"b.B3\n" +
+			"b.B4\n" +
+			"b.B5"
+		);
+	} finally {
+		deleteProject("P1");
+		deleteProject("P2");
+	}
+}
+/*
+ * Ensures that prefix and camel case queries of type names answered from the sorted index entries
+ * find the types that were added or removed since the previous query.
+ */
+public void testSortedTypeNameQueries() throws CoreException {
+	boolean sortedQueries = TypeDeclarationPattern.SORTED_INDEX_QUERIES;
+	try {
+		TypeDeclarationPattern.SORTED_INDEX_QUERIES = true;
+		IJavaProject project = createJavaProject("P1");
+		createFolder("/P1/p");
+		createFile("/P1/p/HashMap.java", "package p;\npublic class HashMap {\n}");
+		createFile("/P1/p/Hashtable.java", "package p;\npublic class Hashtable {\n}");
+		createFile("/P1/p/Handler.java", "package p;\npublic interface Handler {\n}");
+		assertTypeNames(project, "has", SearchPattern.R_PREFIX_MATCH,
+			"p.HashMap\n" +
+			"p.Hashtable");
+		assertTypeNames(project, "HM", SearchPattern.R_CAMELCASE_MATCH,
+			"p.HashMap");
+
+		createFile("/P1/p/HashMapping.java", "package p;\npublic class HashMapping {\n}");
+		deleteFile("/P1/p/Hashtable.java");
+		assertTypeNames(project, "has", SearchPattern.R_PREFIX_MATCH,
+			"p.HashMap\n" +
+			"p.HashMapping");
+		assertTypeNames(project, "HM", SearchPattern.R_CAMELCASE_MATCH,
+			"p.HashMap\n" +
+			"p.HashMapping");
+		assertTypeNames(project, "Handler", SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE,
+			"p.Handler");
+	} finally {
+		TypeDeclarationPattern.SORTED_INDEX_QUERIES = sortedQueries;
+		deleteProject("P1");
+	}
+}
+private void assertTypeNames(IJavaProject project, String typeName, int matchRule, String expected) throws JavaModelException {
+	SearchTypeNameRequestor requestor = new SearchTypeNameRequestor();
+	new SearchEngine().searchAllTypeNames(
+		null,
+		SearchPattern.R_EXACT_MATCH,
+		typeName.toCharArray(),
+		matchRule,
+		TYPE,
+		SearchEngine.createJavaSearchScope(new IJavaElement[] {project}),
+		requestor,
+		WAIT_UNTIL_READY_TO_SEARCH,
+		null);
+	assertEquals("Unexpected types matching " + typeName, expected, requestor.toString());
+}
 /**
  * Test pattern creation
  */
@@ -1476,6 +1476,103 @@ public void testBug316654_c() throws CoreException {
 		h.removeTypeHierarchyChangedListener(this);
 	}
 }
+/*
+ * Ensures that a hierarchy refreshed after a leaf subtype was removed from a primary working copy
+ * doesn't contain this subtype any longer, and that it contains it again once added back.
+ */
+public void testRefreshAfterLeafSubtypeRemoval() throws CoreException {
+	ICompilationUnit workingCopy = null;
+	ITypeHierarchy h = null;
+	try {
+		createJavaProject("P");
+		createFolder("/P/p");
+		createFile(
+			"/P/p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}"
+		);
+		createFile(
+			"/P/p/B.java",
+			"package p;\n" +
+			"public class B extends A {\n" +
+			"}"
+		);
+		IType type = getCompilationUnit("/P/p/A.java").getType("A");
+		h = type.newTypeHierarchy(null);
+		h.addTypeHierarchyChangedListener(this);
+		workingCopy = getCompilationUnit("/P/p/B.java");
+		workingCopy.becomeWorkingCopy(null);
+
+		workingCopy.getBuffer().setContents(
+			"package p;\n" +
+			"public class C {\n" +
+			"}"
+		);
+		workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		h.refresh(null);
+		assertTypesEqual("Unexpected subtypes after removal", "", h.getAllSubtypes(type));
+
+		workingCopy.getBuffer().setContents(
+			"package p;\n" +
+			"public class B extends A {\n" +
+			"}"
+		);
+		workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		h.refresh(null);
+		assertTypesEqual("Unexpected subtypes after addition", "p.B\n", h.getAllSubtypes(type));
+	} finally {
+		if (h != null)
+			h.removeTypeHierarchyChangedListener(this);
+		if (workingCopy != null)
+			workingCopy.discardWorkingCopy();
+		deleteProject("P");
+	}
+}
+/*
+ * Ensures that a hierarchy is recomputed on refresh after changes made while no listener was registered,
+ * i.e. before the first listener is added and between the removal of the last listener and a later addition.
+ */
+public void testRefreshAfterChangesWithoutListener() throws CoreException {
+	ITypeHierarchy h = null;
+	try {
+		createJavaProject("P");
+		createFolder("/P/p");
+		createFile(
+			"/P/p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}"
+		);
+		IType type = getCompilationUnit("/P/p/A.java").getType("A");
+		h = type.newTypeHierarchy(null);
+
+		createFile(
+			"/P/p/B.java",
+			"package p;\n" +
+			"public class B extends A {\n" +
+			"}"
+		);
+		h.addTypeHierarchyChangedListener(this);
+		h.refresh(null);
+		assertTypesEqual("Unexpected subtypes after first addition of a listener", "p.B\n", h.getAllSubtypes(type));
+
+		h.removeTypeHierarchyChangedListener(this);
+		createFile(
+			"/P/p/C.java",
+			"package p;\n" +
+			"public class C extends A {\n" +
+			"}"
+		);
+		h.addTypeHierarchyChangedListener(this);
+		h.refresh(null);
+		assertTypesEqual("Unexpected subtypes after new addition of a listener", "p.B\np.C\n", h.getAllSubtypes(type));
+	} finally {
+		if (h != null)
+			h.removeTypeHierarchyChangedListener(this);
+		deleteProject("P");
+	}
+}
 /**
  * Make a note of the change
  */
@@ -35,6 +35,7 @@ import org.eclipse.jdt.core.tests.model.SearchTests.WaitingJob;
 import org.eclipse.jdt.core.tests.model.Semaphore.TimeOutException;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.hierarchy.RegionBasedHierarchyBuilder;
 
 @SuppressWarnings("rawtypes")
 public class TypeHierarchyTests extends ModifyingResourceTests {
@@ -1961,6 +1962,86 @@ public void _testRegion4() throws CoreException {
 		deleteProjects(new String[] {"P1", "P2", "P3"});
 	}
 }
+/*
+ * Ensures that a type hierarchy on a region spanning several projects is the same
+ * whether the projects are resolved in parallel or one after the other.
+ */
+public void testRegionInParallel() throws CoreException {
+	int threadCount = RegionBasedHierarchyBuilder.RESOLUTION_THREAD_COUNT;
+	try {
+		createJavaProject("P1", new String[] {""}, new String[] {"JCL18_LIB"}, "");
+		createJavaProject("P2", new String[] {""}, new String[] {"JCL18_LIB"}, new String[] {"/P1"}, "");
+		createJavaProject("P3", new String[] {""}, new String[] {"JCL18_LIB"}, new String[] {"/P1", "/P2"}, "");
+		createFolder("/P1/p1");
+		createFile(
+			"/P1/p1/X.java",
+			"package p1;\n" +
+			"public class X {\n" +
+			"  public class Member {}\n" +
+			"}"
+		);
+		createFile(
+			"/P1/p1/I.java",
+			"package p1;\n" +
+			"public interface I {}"
+		);
+		createFolder("/P2/p2");
+		createFile(
+			"/P2/p2/Y.java",
+			"package p2;\n" +
+			"public class Y extends p1.X implements p1.I {\n" +
+			"  class Inner extends Member {}\n" +
+			"  void foo() {\n" +
+			"    new p1.I() {};\n" +
+			"  }\n" +
+			"}"
+		);
+		createFile(
+			"/P2/p2/W.java",
+			"package p2;\n" +
+			"public class W extends Missing {}"
+		);
+		createFolder("/P3/p3");
+		createFile(
+			"/P3/p3/Z.java",
+			"package p3;\n" +
+			"public class Z extends p2.Y {}"
+		);
+		createFile(
+			"/P3/p3/J.java",
+			"package p3;\n" +
+			"public interface J extends p1.I {}"
+		);
+		IRegion region = JavaCore.newRegion();
+		region.add(getPackageFragmentRoot("P1", ""));
+		region.add(getPackageFragmentRoot("P2", ""));
+		region.add(getPackageFragmentRoot("P3", ""));
+
+		RegionBasedHierarchyBuilder.RESOLUTION_THREAD_COUNT = 1;
+		ITypeHierarchy sequential = JavaCore.newTypeHierarchy(region, null, null);
+		RegionBasedHierarchyBuilder.RESOLUTION_THREAD_COUNT = 3;
+		ITypeHierarchy parallel = JavaCore.newTypeHierarchy(region, null, null);
+
+		assertTypesEqual(
+			"Unexpected types in hierarchy",
+			"java.lang.Object\n" +
+			"p1.I\n" +
+			"p1.X\n" +
+			"p1.X$Member\n" +
+			"p2.W\n" +
+			"p2.Y\n" +
+			"p2.Y$1\n" +
+			"p2.Y$Inner\n" +
+			"p3.J\n" +
+			"p3.Z\n",
+			sequential.getAllTypes()
+		);
+		assertEquals("Unexpected hierarchy built in parallel", sequential.toString(), parallel.toString());
+	} finally {
+		RegionBasedHierarchyBuilder.RESOLUTION_THREAD_COUNT = threadCount;
+		deleteProjects(new String[] {"P1", "P2", "P3"});
+	}
+}
 /*
  * Ensures that a type hierarchy on a region that contains a type with a missing super class is correct
  * (regression test for https://bugs.eclipse.org/bugs/show_bug.cgi?id=154865 )
@@ -3734,4 +3815,47 @@ public void testBugGh269() throws Exception {
 	}
 }
 
+/*
+ * The subtypes found from the index entries grouped by super type name
+ * must reflect the types indexed after a previous hierarchy.
+ */
+public void testSubtypesAfterIndexChange() throws Exception {
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL18_LIB"}, "bin", "1.8");
+		createFolder("/P/src/p");
+		createFile(
+			"/P/src/p/A.java",
+			"package p;\n" +
+			"public class A {}\n"
+		);
+		createFile(
+			"/P/src/p/B.java",
+			"package p;\n" +
+			"public class B extends A {}\n"
+		);
+		waitUntilIndexesReady();
+		IType type = getCompilationUnit("/P/src/p/A.java").getType("A");
+		ITypeHierarchy hierarchy = type.newTypeHierarchy(null);
+		assertTypesEqual(
+			"Unexpected subtypes",
+			"p.B\n",
+			hierarchy.getAllSubtypes(type));
+
+		createFile(
+			"/P/src/p/C.java",
+			"package p;\n" +
+			"public class C extends B {}\n"
+		);
+		waitUntilIndexesReady();
+		hierarchy = type.newTypeHierarchy(null);
+		assertTypesEqual(
+			"Unexpected subtypes after change",
+			"p.B\n" +
+			"p.C\n",
+			hierarchy.getAllSubtypes(type));
+	} finally {
+		deleteProject("P");
+	}
+}
+
 }
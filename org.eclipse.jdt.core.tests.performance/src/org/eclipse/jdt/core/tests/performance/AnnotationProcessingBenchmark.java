@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
+
+/**
+ * Standalone benchmark of the annotation processing model of the batch compiler.
+ * <p>
+ * A generated project is compiled with a processor that iterates all the members of every root
+ * element and of its superclass, as processors typically do, asking for each member its type as a
+ * member of the root element and whether this type is a subtype of the types declared in the project. The time spent
+ * in the processor is printed for each iteration.
+ * </p>
+ * <p>
+ * Run it with <code>-Dorg.eclipse.jdt.disable_apt_model_caches=true</code> to compare with the
+ * model without the caches of elements and lookups.
+ * </p>
+ * <pre>
+ * java ... org.eclipse.jdt.core.tests.performance.AnnotationProcessingBenchmark [-warmup n] [-iterations n] [-types n]
+ * </pre>
+ */
+public class AnnotationProcessingBenchmark {
+
+	private static final int HIERARCHY_DEPTH = 20;
+
+	/**
+	 * Iterates all the members of every root element.
+	 */
+	@SupportedAnnotationTypes("*")
+	public static class AllMembersProcessor extends AbstractProcessor {
+
+		private static final int SUBTYPE_CHECKS_STEP = 20;
+
+		long nanos;
+		long lookups;
+
+		@Override
+		public SourceVersion getSupportedSourceVersion() {
+			return SourceVersion.latestSupported();
+		}
+
+		@Override
+		public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+			long start = System.nanoTime();
+			Elements elements = this.processingEnv.getElementUtils();
+			Types types = this.processingEnv.getTypeUtils();
+			List<TypeElement> rootTypes = ElementFilter.typesIn(roundEnv.getRootElements());
+			for (TypeElement type : rootTypes) {
+				DeclaredType declaredType = (DeclaredType) type.asType();
+				// the inherited members, as the processors comparing the members of a type and of its superclass
+				Element superclass = types.asElement(type.getSuperclass());
+				if (superclass instanceof TypeElement) {
+					elements.getAllMembers((TypeElement) superclass);
+					this.lookups++;
+				}
+				for (Element member : elements.getAllMembers(type)) {
+					if (member.getKind() != ElementKind.METHOD && member.getKind() != ElementKind.FIELD)
+						continue;
+					TypeMirror memberType = types.asMemberOf(declaredType, member);
+					this.lookups++;
+					if (member.getKind() != ElementKind.FIELD || memberType.getKind().isPrimitive())
+						continue;
+					for (int i = 0; i < rootTypes.size(); i += SUBTYPE_CHECKS_STEP) {
+						types.isSubtype(memberType, rootTypes.get(i).asType());
+						this.lookups++;
+					}
+				}
+			}
+			this.nanos += System.nanoTime() - start;
+			return false;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int warmup = 5;
+		int iterations = 10;
+		int typeCount = 200;
+		for (int i = 0; i < args.length; i++) {
+			if ("-warmup".equals(args[i])) {
+				warmup = Integer.parseInt(args[++i]);
+			} else if ("-iterations".equals(args[i])) {
+				iterations = Integer.parseInt(args[++i]);
+			} else if ("-types".equals(args[i])) {
+				typeCount = Integer.parseInt(args[++i]);
+			}
+		}
+		Path directory = Files.createTempDirectory("aptbenchmark");
+		try {
+			List<Path> sources = generateSources(directory, typeCount);
+			for (int i = 0; i < warmup; i++) {
+				compile(sources);
+			}
+			long totalNanos = 0;
+			for (int i = 0; i < iterations; i++) {
+				System.gc();
+				AllMembersProcessor processor = compile(sources);
+				totalNanos += processor.nanos;
+				System.out.println(String.format("Iteration %d: %.3f ms in the processor (%d lookups)", i + 1,
+						processor.nanos / 1_000_000.0, processor.lookups));
+			}
+			System.out.println(String.format("Average: %.3f ms in the processor for %d types", totalNanos / 1_000_000.0 / iterations, typeCount));
+		} finally {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+					Files.delete(file);
+			}
+		}
+	}
+
+	private static AllMembersProcessor compile(List<Path> sources) {
+		EclipseCompiler compiler = new EclipseCompiler();
+		AllMembersProcessor processor = new AllMembersProcessor();
+		StringWriter output = new StringWriter();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+			Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(sources);
+			CompilationTask task = compiler.getTask(output, fileManager, null, List.of("-proc:only", "-nowarn"), null, units);
+			task.setProcessors(List.of(processor));
+			if (!task.call())
+				throw new IllegalStateException(output.toString());
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return processor;
+	}
+
+	/*
+	 * Generates chains of types extending each other and implementing a few interfaces, so that
+	 * their members are found in deep hierarchies.
+	 */
+	private static List<Path> generateSources(Path directory, int typeCount) throws IOException {
+		Path packageDirectory = Files.createDirectories(directory.resolve("p"));
+		List<Path> sources = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			StringBuilder buffer = new StringBuilder();
+			buffer.append("package p;\npublic interface I").append(i).append("<T> {\n");
+			for (int j = 0; j < 10; j++)
+				buffer.append("\tT get").append(i).append('_').append(j).append("(T value, int index);\n");
+			buffer.append("}\n");
+			sources.add(Files.writeString(packageDirectory.resolve("I" + i + ".java"), buffer));
+		}
+		for (int i = 0; i < typeCount; i++) {
+			StringBuilder buffer = new StringBuilder();
+			buffer.append("package p;\npublic abstract class C").append(i);
+			if (i % HIERARCHY_DEPTH != 0)
+				buffer.append(" extends C").append(i - 1);
+			buffer.append(" implements I").append(i % 5).append("<String> {\n");
+			for (int j = 0; j < 10; j++) {
+				buffer.append("\tprotected C").append(i - i % HIERARCHY_DEPTH).append(" field").append(i).append('_').append(j).append(";\n");
+				buffer.append("\tpublic java.util.List<String> method").append(i).append('_').append(j).append("(String s, int n) { return null; }\n");
+			}
+			buffer.append("}\n");
+			sources.add(Files.writeString(packageDirectory.resolve("C" + i + ".java"), buffer));
+		}
+		return sources;
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import org.eclipse.jdt.internal.compiler.tool.CompilationService;
+import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
+
+/**
+ * Standalone benchmark of the compilation of many small in-memory sources, as generated code is
+ * compiled at runtime.
+ * <p>
+ * The same snippets are compiled one at a time by a new task of {@link EclipseCompiler} each, then
+ * by a single {@link CompilationService}. The throughput of both is printed for each iteration.
+ * </p>
+ * <pre>
+ * java ... org.eclipse.jdt.core.tests.performance.CompilationServiceBenchmark [-warmup n] [-iterations n] [-snippets n]
+ * </pre>
+ */
+public class CompilationServiceBenchmark {
+
+	private static class SourceFileObject extends SimpleJavaFileObject {
+		private final String source;
+
+		SourceFileObject(String className, String source) {
+			super(URI.create("memory:///" + className.replace('.', '/') + ".java"), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return this.source;
+		}
+
+		@Override
+		public InputStream openInputStream() {
+			return new ByteArrayInputStream(this.source.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/*
+	 * Provides the sources and keeps the class files in memory, as the applications compiling generated code do.
+	 */
+	private static class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+		InMemoryFileManager(JavaFileManager fileManager) {
+			super(fileManager);
+		}
+
+		@Override
+		public boolean hasLocation(Location location) {
+			return location == StandardLocation.SOURCE_PATH || super.hasLocation(location);
+		}
+
+		@Override
+		public boolean contains(Location location, FileObject file) throws IOException {
+			if (location == StandardLocation.SOURCE_PATH)
+				return file instanceof SourceFileObject;
+			return super.contains(location, file);
+		}
+
+		@Override
+		public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
+			if (location == StandardLocation.SOURCE_PATH)
+				return List.of();
+			return super.list(location, packageName, kinds, recurse);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForInput(Location location, String className, JavaFileObject.Kind kind) throws IOException {
+			if (location == StandardLocation.SOURCE_PATH)
+				return null;
+			return super.getJavaFileForInput(location, className, kind);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+			return new SimpleJavaFileObject(URI.create("memory:///" + className.replace('.', '/') + kind.extension), kind) {
+				@Override
+				public OutputStream openOutputStream() {
+					return new ByteArrayOutputStream();
+				}
+			};
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int warmup = 3;
+		int iterations = 5;
+		int snippetCount = 200;
+		for (int i = 0; i < args.length; i++) {
+			if ("-warmup".equals(args[i])) {
+				warmup = Integer.parseInt(args[++i]);
+			} else if ("-iterations".equals(args[i])) {
+				iterations = Integer.parseInt(args[++i]);
+			} else if ("-snippets".equals(args[i])) {
+				snippetCount = Integer.parseInt(args[++i]);
+			}
+		}
+		for (int i = 0; i < warmup; i++) {
+			compileWithTasks(snippetCount);
+			compileWithService(snippetCount);
+		}
+		for (int i = 0; i < iterations; i++) {
+			System.gc();
+			long tasks = compileWithTasks(snippetCount);
+			System.gc();
+			long service = compileWithService(snippetCount);
+			System.out.println(String.format("Iteration %d: %.1f snippets/s with compilation tasks, %.1f snippets/s with a compilation service",
+					i + 1, snippetCount * 1e9 / tasks, snippetCount * 1e9 / service));
+		}
+	}
+
+	private static long compileWithTasks(int snippetCount) throws IOException {
+		EclipseCompiler compiler = new EclipseCompiler();
+		long start = System.nanoTime();
+		for (int i = 0; i < snippetCount; i++) {
+			StringWriter output = new StringWriter();
+			try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+				JavaFileManager inMemoryFileManager = new InMemoryFileManager(fileManager);
+				CompilationTask task = compiler.getTask(output, inMemoryFileManager, null, List.of("-proc:none", "-nowarn"), null,
+						List.of(new SourceFileObject(className(i), snippet(i))));
+				if (!task.call())
+					throw new IllegalStateException(output.toString());
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long compileWithService(int snippetCount) {
+		long start = System.nanoTime();
+		try (CompilationService service = new CompilationService(Map.of(), List.of())) {
+			for (int i = 0; i < snippetCount; i++) {
+				CompilationService.Result result = service.compile(Map.of(className(i).replace('.', '/') + ".java", snippet(i)));
+				if (!result.success())
+					throw new IllegalStateException(result.diagnostics().toString());
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static String className(int index) {
+		return "generated.Snippet" + index;
+	}
+
+	/*
+	 * A typical generated class, using a few collections and streams of the platform.
+	 */
+	private static String snippet(int index) {
+		return "package generated;\n" +
+				"import java.util.*;\n" +
+				"import java.util.function.*;\n" +
+				"import java.util.stream.*;\n" +
+				"public class Snippet" + index + " implements Function<Map<String, Object>, List<String>> {\n" +
+				"\tprivate final Map<String, Integer> counts = new HashMap<>();\n" +
+				"\t@Override\n" +
+				"\tpublic List<String> apply(Map<String, Object> input) {\n" +
+				"\t\tinput.forEach((key, value) -> this.counts.merge(key, " + index + ", Integer::sum));\n" +
+				"\t\treturn input.entrySet().stream()\n" +
+				"\t\t\t\t.filter(entry -> entry.getValue() instanceof String)\n" +
+				"\t\t\t\t.map(entry -> entry.getKey() + '=' + entry.getValue())\n" +
+				"\t\t\t\t.sorted(Comparator.reverseOrder())\n" +
+				"\t\t\t\t.collect(Collectors.toList());\n" +
+				"\t}\n" +
+				"}\n";
+	}
+}
@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.Comment;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
+import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
+import org.eclipse.jdt.internal.formatter.CommentsPreparator;
+import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
+import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
+import org.eclipse.jdt.internal.formatter.LineBreaksPreparator;
+import org.eclipse.jdt.internal.formatter.OneLineEnforcer;
+import org.eclipse.jdt.internal.formatter.SpacePreparator;
+import org.eclipse.jdt.internal.formatter.Token;
+import org.eclipse.jdt.internal.formatter.TokenManager;
+import org.eclipse.jdt.internal.formatter.linewrap.WrapPreparator;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Standalone benchmark of the code formatter, to evaluate performance work on the formatter offline
+ * (i.e. without a workbench, contrary to {@link FullSourceWorkspaceFormatterTests}).
+ * <p>
+ * Each source of the corpus is formatted the way {@link DefaultCodeFormatter} does it, measuring the
+ * throughput and the allocations of each phase separately: the tokenizing into the {@link TokenManager},
+ * the parsing, the {@link SpacePreparator}, the {@link LineBreaksPreparator}, the {@link CommentsPreparator},
+ * the {@link WrapPreparator} and the line wrapping done by the <code>WrapExecutor</code>. The whole
+ * {@link DefaultCodeFormatter#format(int, String, int, int, int, String)} call is measured as well, for the
+ * whole source and for a region made of the line in the middle of the source, as when a selection is formatted.
+ * Running the benchmark with and without <code>-Dorg.eclipse.jdt.disable_format_regions_scope=true</code>
+ * compares the formatting of the region with and without the format scope.
+ * </p>
+ * <p>
+ * The corpus is generated, so that the results of different runs can be compared: typical sources,
+ * long fluent chains, huge array initializers, javadoc heavy sources and text blocks. Additional
+ * sources can be given on the command line.
+ * </p>
+ * <pre>
+ * java ... org.eclipse.jdt.core.tests.performance.FormatterBenchmark [-warmup n] [-iterations n] [file.java...]
+ * </pre>
+ */
+public class FormatterBenchmark {
+
+	static final String[] PHASES = { "TokenManager", "Parser", "SpacePreparator", "LineBreaksPreparator",
+			"CommentsPreparator", "WrapPreparator", "WrapExecutor", "DefaultCodeFormatter", "DefaultCodeFormatter[region]" };
+
+	private static final int TOKENS = 0, PARSER = 1, SPACES = 2, LINE_BREAKS = 3, COMMENTS = 4, WRAP_PREPARATION = 5,
+			WRAP_EXECUTION = 6, FORMAT = 7, FORMAT_REGION = 8;
+
+	private final Map<String, String> settings;
+	private final DefaultCodeFormatterOptions options;
+	private final String sourceLevel = CompilerOptions.getLatestVersion();
+
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	private final Method allocatedBytes;
+
+	private final long[] nanos = new long[PHASES.length];
+	private final long[] bytes = new long[PHASES.length];
+	private long startNanos, startBytes;
+
+	public FormatterBenchmark() {
+		this.settings = DefaultCodeFormatterConstants.getEclipseDefaultSettings();
+		this.settings.put(CompilerOptions.OPTION_Source, this.sourceLevel);
+		this.options = new DefaultCodeFormatterOptions(this.settings);
+		this.options.line_separator = "\n";
+		Method method = null;
+		try {
+			// the allocations are only measured when the VM provides the per thread counter
+			method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getCurrentThreadAllocatedBytes");
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			System.err.println("Allocations not available: " + e);
+		}
+		this.allocatedBytes = method;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int warmup = 10;
+		int iterations = 20;
+		Map<String, String> corpus = new LinkedHashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if ("-warmup".equals(args[i])) {
+				warmup = Integer.parseInt(args[++i]);
+			} else if ("-iterations".equals(args[i])) {
+				iterations = Integer.parseInt(args[++i]);
+			} else {
+				Path file = Path.of(args[i]);
+				corpus.put(file.getFileName().toString(), Files.readString(file));
+			}
+		}
+		if (corpus.isEmpty())
+			corpus = corpus();
+
+		FormatterBenchmark benchmark = new FormatterBenchmark();
+		System.out.println(String.format("%-20s %-28s %12s %12s %14s", "Source", "Phase", "ms/op", "ops/s", "KB/op"));
+		for (Map.Entry<String, String> entry : corpus.entrySet()) {
+			benchmark.run(entry.getKey(), entry.getValue(), warmup, iterations);
+		}
+	}
+
+	/**
+	 * Formats the given source the given number of times after the given number of warm up formats,
+	 * and prints the average time and allocations of each phase.
+	 */
+	public void run(String name, String source, int warmup, int iterations) {
+		IRegion region = middleLine(source);
+		for (int i = 0; i < warmup; i++) {
+			formatByPhases(source);
+			format(source);
+			formatRegion(source, region);
+		}
+		Arrays.fill(this.nanos, 0);
+		Arrays.fill(this.bytes, 0);
+		for (int i = 0; i < iterations; i++) {
+			System.gc();
+			formatByPhases(source);
+			format(source);
+			formatRegion(source, region);
+		}
+		for (int phase = 0; phase < PHASES.length; phase++) {
+			double millis = this.nanos[phase] / 1_000_000.0 / iterations;
+			System.out.println(String.format("%-20s %-28s %12.3f %12.1f %14.1f", name + " (" + source.length() + ")", PHASES[phase],
+					millis, millis == 0 ? 0 : 1000 / millis, this.bytes[phase] / 1024.0 / iterations));
+		}
+	}
+
+	private void format(String source) {
+		start();
+		new DefaultCodeFormatter(this.settings).format(CodeFormatter.K_COMPILATION_UNIT, source, 0, source.length(), 0, "\n");
+		stop(FORMAT);
+	}
+
+	private void formatRegion(String source, IRegion region) {
+		start();
+		new DefaultCodeFormatter(this.settings).format(CodeFormatter.K_COMPILATION_UNIT, source, new IRegion[] { region }, 0, "\n");
+		stop(FORMAT_REGION);
+	}
+
+	private static IRegion middleLine(String source) {
+		int start = source.lastIndexOf('\n', source.length() / 2) + 1;
+		int end = source.indexOf('\n', start);
+		return new Region(start, (end < 0 ? source.length() : end) - start);
+	}
+
+	/*
+	 * Mirrors DefaultCodeFormatter.prepareFormattedCode(String, int) for a whole compilation unit.
+	 */
+	private void formatByPhases(String source) {
+		start();
+		List<Token> tokens = tokenize(source);
+		TokenManager tm = new TokenManager(tokens, source, this.options);
+		stop(TOKENS);
+
+		start();
+		CompilationUnit unit = parse(source);
+		if (!unit.types().isEmpty())
+			tm.setHeaderEndIndex(tm.firstIndexIn((ASTNode) unit.types().get(0), TokenManager.ANY));
+		stop(PARSER);
+
+		start();
+		SpacePreparator spacePreparator = new SpacePreparator(tm, this.options);
+		unit.accept(spacePreparator);
+		spacePreparator.finishUp();
+		stop(SPACES);
+
+		start();
+		LineBreaksPreparator breaksPreparator = new LineBreaksPreparator(tm, this.options);
+		unit.accept(breaksPreparator);
+		breaksPreparator.finishUp();
+		unit.accept(new OneLineEnforcer(tm, this.options));
+		stop(LINE_BREAKS);
+
+		start();
+		CommentsPreparator commentsPreparator = new CommentsPreparator(tm, this.options, this.sourceLevel);
+		for (Object comment : unit.getCommentList())
+			((Comment) comment).accept(commentsPreparator);
+		commentsPreparator.finishUp();
+		stop(COMMENTS);
+
+		start();
+		WrapPreparator wrapPreparator = new WrapPreparator(tm, this.options, CodeFormatter.K_COMPILATION_UNIT);
+		unit.accept(wrapPreparator);
+		stop(WRAP_PREPARATION);
+
+		start();
+		List<IRegion> regions = List.of(new Region(0, source.length()));
+		wrapPreparator.finishUp(unit, regions); // mostly the WrapExecutor
+		stop(WRAP_EXECUTION);
+	}
+
+	private List<Token> tokenize(String source) {
+		List<Token> tokens = new ArrayList<>();
+		Scanner scanner = new Scanner(true, false, false, CompilerOptions.versionToJdkLevel(this.sourceLevel),
+				null, null, false, false);
+		scanner.setSource(source.toCharArray());
+		while (true) {
+			try {
+				TerminalToken tokenType = scanner.getNextToken();
+				if (tokenType == TerminalToken.TokenNameEOF)
+					break;
+				tokens.add(Token.fromCurrent(scanner, tokenType));
+			} catch (InvalidInputException e) {
+				tokens.add(Token.fromCurrent(scanner, TerminalToken.TokenNameNotAToken));
+			}
+		}
+		return tokens;
+	}
+
+	private CompilationUnit parse(String source) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(source.toCharArray());
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		Map<String, String> parserOptions = JavaCore.getOptions();
+		parserOptions.put(CompilerOptions.OPTION_Source, this.sourceLevel);
+		parserOptions.put(CompilerOptions.OPTION_DocCommentSupport, CompilerOptions.ENABLED);
+		parser.setCompilerOptions(parserOptions);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	private void start() {
+		this.startBytes = allocatedBytes();
+		this.startNanos = System.nanoTime();
+	}
+
+	private void stop(int phase) {
+		this.nanos[phase] += System.nanoTime() - this.startNanos;
+		this.bytes[phase] += allocatedBytes() - this.startBytes;
+	}
+
+	private long allocatedBytes() {
+		if (this.allocatedBytes == null)
+			return 0;
+		try {
+			return (Long) this.allocatedBytes.invoke(this.threadBean);
+		} catch (ReflectiveOperationException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the generated corpus, by source name.
+	 */
+	public static Map<String, String> corpus() {
+		Map<String, String> corpus = new LinkedHashMap<>();
+		corpus.put("Typical", typicalSource(200));
+		corpus.put("FluentChains", fluentChainsSource(300, 40));
+		corpus.put("ArrayInitializers", arrayInitializersSource(20, 5000));
+		corpus.put("Javadoc", javadocSource(300));
+		corpus.put("TextBlocks", textBlocksSource(300, 30));
+		return corpus;
+	}
+
+	static String typicalSource(int methods) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package p;\nimport java.util.*;\nimport java.util.function.*;\n");
+		buffer.append("public class Typical<T extends Comparable<T>> extends AbstractList<T> implements RandomAccess {\n");
+		buffer.append("private final List<T> elements = new ArrayList<>(); private int modifications;\n");
+		for (int i = 0; i < methods; i++) {
+			buffer.append("// computes the value ").append(i).append('\n');
+			buffer.append("public int method").append(i).append("(Map<String, List<T>> map, int count, Function<T, String> f) throws Exception {\n");
+			buffer.append("int result = count * ").append(i).append(" + (count > 10 ? count - 10 : 10 - count);\n");
+			buffer.append("for (Map.Entry<String, List<T>> entry : map.entrySet()) { if (entry.getKey().length() > count && !entry.getValue().isEmpty()) {");
+			buffer.append(" result += entry.getValue().size(); } else if (entry.getKey().isEmpty()) { continue; } else { result--; } }\n");
+			buffer.append("switch (result % 3) { case 0: result++; break; case 1: result += 2; break; default: result = 0; }\n");
+			buffer.append("try { this.elements.sort((a, b) -> a.compareTo(b)); } catch (RuntimeException e) { throw new Exception(\"failed \" + e.getMessage(), e); } finally { this.modifications++; }\n");
+			buffer.append("return result;\n}\n");
+		}
+		buffer.append("@Override public T get(int index) { return this.elements.get(index); }\n");
+		buffer.append("@Override public int size() { return this.elements.size(); }\n}\n");
+		return buffer.toString();
+	}
+
+	static String fluentChainsSource(int methods, int calls) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package p;\nimport java.util.stream.*;\npublic class FluentChains {\n");
+		for (int i = 0; i < methods; i++) {
+			buffer.append("Object chain").append(i).append("(Builder builder, Stream<String> stream) {\n");
+			buffer.append("builder");
+			for (int j = 0; j < calls; j++)
+				buffer.append(".with").append(j).append("(\"value").append(j).append("\", ").append(j).append(')');
+			buffer.append(".build();\n");
+			buffer.append("return stream.filter(s -> !s.isEmpty()).map(String::trim).map(s -> s.substring(0, Math.min(s.length(), ")
+					.append(i).append("))).sorted().distinct().collect(Collectors.joining(\", \", \"[\", \"]\"));\n}\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+
+	static String arrayInitializersSource(int arrays, int elements) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package p;\npublic class ArrayInitializers {\n");
+		for (int i = 0; i < arrays; i++) {
+			buffer.append("static final int[] TABLE").append(i).append(" = {");
+			for (int j = 0; j < elements; j++)
+				buffer.append(j * 31 % 1000).append(", ");
+			buffer.append("};\n");
+			buffer.append("static final String[][] NAMES").append(i).append(" = {");
+			for (int j = 0; j < elements / 10; j++)
+				buffer.append("{\"name").append(j).append("\", \"value").append(j).append("\"}, ");
+			buffer.append("};\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+
+	static String javadocSource(int methods) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package p;\n/**\n * A class with a lot of documentation, see {@link java.lang.Object} and <b>other</b> <i>classes</i>.\n */\n");
+		buffer.append("public class Javadoc {\n");
+		for (int i = 0; i < methods; i++) {
+			buffer.append("/**\n * Answers the value number ").append(i).append(" computed from the given parameters, which is a rather long sentence that has to be wrapped by the formatter because it doesn't fit on one line.\n");
+			buffer.append(" * <p>\n * The computation follows these steps:\n * <ul>\n * <li>first step</li><li>second step with {@code code} inside</li>\n * </ul>\n * </p>\n");
+			buffer.append(" * <pre>\n *   int value = javadoc.method").append(i).append("(1, \"a\");\n * </pre>\n");
+			buffer.append(" * @param first the first parameter, which is described with a sentence long enough to be wrapped too\n");
+			buffer.append(" * @param second the second parameter\n * @return the computed value\n * @throws IllegalArgumentException if the parameters are invalid\n * @see #method").append(i + 1).append("(int, String)\n */\n");
+			buffer.append("public int method").append(i).append("(int first, String second) { return first + second.length(); }\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+
+	static String textBlocksSource(int methods, int lines) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package p;\npublic class TextBlocks {\n");
+		for (int i = 0; i < methods; i++) {
+			buffer.append("String block").append(i).append("() {\nreturn \"\"\"\n");
+			for (int j = 0; j < lines; j++)
+				buffer.append("    <line number=\"").append(j).append("\">some \\\"quoted\\\" text of the block ").append(i).append("</line>\n");
+			buffer.append("    \"\"\".formatted(").append(i).append(");\n}\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+}
@@ -19,6 +19,8 @@ import junit.framework.Test;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchRequestor;
@@ -187,4 +189,61 @@ public class FullSourceWorkspaceTypeHierarchyTests extends FullSourceWorkspaceTe
 		assertPerformance();
 	}
 
+	/*
+	 * Refresh a hierarchy after each edit of a subtype in a primary working copy (modifiers, generated members,
+	 * addition and removal of a leaf subtype), as done when reconciling an editor while a hierarchy view is opened.
+	 */
+	public void testPerfRefreshAfterEdits() throws CoreException {
+		ICompilationUnit unit = getCompilationUnit("org.eclipse.jdt.core", "org.eclipse.jdt.internal.compiler.ast", "ASTNode.java");
+		assertNotNull("ASTNode not found!", unit);
+		ICompilationUnit subtypeUnit = getCompilationUnit("org.eclipse.jdt.core", "org.eclipse.jdt.internal.compiler.ast", "NullLiteral.java");
+		assertNotNull("NullLiteral not found!", subtypeUnit);
+		ITypeHierarchy hierarchy = unit.getType("ASTNode").newTypeHierarchy(null);
+		ITypeHierarchyChangedListener listener = typeHierarchy -> { /* only register the hierarchy for deltas */ };
+		hierarchy.addTypeHierarchyChangedListener(listener);
+		subtypeUnit.becomeWorkingCopy(null);
+		try {
+			String original = subtypeUnit.getSource();
+			String[] edits = new String[] {
+				original.replace("public class NullLiteral", "public final class NullLiteral"),
+				original.replace("public class NullLiteral extends MagicLiteral {", "public class NullLiteral extends MagicLiteral {\n\tpublic int generated() { return 0; }"),
+				original + "\nclass GeneratedLiteral extends NullLiteral {\n\tGeneratedLiteral() { super(0, 0); }\n}\n",
+				original
+			};
+
+			// Warm up
+			for (int i=0; i<WARMUP_COUNT; i++) {
+				for (String contents : edits) {
+					subtypeUnit.getBuffer().setContents(contents);
+					subtypeUnit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+					hierarchy.refresh(null);
+				}
+			}
+
+			// Clean memory
+			runGc();
+
+			// Measures
+			for (int i=0; i<MEASURES_COUNT; i++) {
+				runGc();
+				startMeasuring();
+				for (int j=0; j<10; j++) {
+					for (String contents : edits) {
+						subtypeUnit.getBuffer().setContents(contents);
+						subtypeUnit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+						hierarchy.refresh(null);
+					}
+				}
+				stopMeasuring();
+			}
+			assertTrue("NullLiteral should still be in the hierarchy", hierarchy.contains(subtypeUnit.getType("NullLiteral")));
+		} finally {
+			subtypeUnit.discardWorkingCopy();
+			hierarchy.removeTypeHierarchyChangedListener(listener);
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+	}
 }
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.tests.builder.TestingEnvironment;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
@@ -101,4 +102,44 @@ public class RegionPerformanceTests extends TestCase {
 		commitMeasurements();
 		assertPerformance();
 	}
+
+	/*
+	 * Region hierarchy over several projects. The projects are resolved in parallel
+	 * when -Dorg.eclipse.jdt.region_hierarchy_threads is set to more than 1,
+	 * so comparing the runs with and without this property measures the speedup.
+	 */
+	public void testRegionHierarchyOfProjects() throws Exception {
+		int projectCount = 4;
+		int classCount = 250;
+		Region region = new Region();
+		IJavaProject firstProject = null;
+		for (int p = 0; p < projectCount; p++) {
+			IJavaProject jproj = createJavaProject("RegionHierarchyTest" + p);
+			if (firstProject == null)
+				firstProject = jproj;
+			IPath root = jproj.getProject().getFullPath().append("src");
+			String packageName = "test" + p;
+			this.env.addClass(root, packageName, "Foo0", "package " + packageName + ";\n\n" + "public class Foo0 implements java.io.Serializable {\n" + "}");
+			for (int idx = 1; idx < classCount; idx++) {
+				this.env.addClass(root, packageName, "Foo" + idx, "package " + packageName + ";\n\n" + "public class Foo" + idx + " extends Foo" + (idx - 1) + " {\n" + "}");
+			}
+			region.add(jproj);
+		}
+
+		this.env.fullBuild();
+
+		// Warm up
+		ITypeHierarchy hierarchy = firstProject.newTypeHierarchy(region, null);
+		assertEquals("Unexpected number of classes", projectCount * classCount + 1 /*Object*/, hierarchy.getAllClasses().length);
+
+		for (int idx = 0; idx < 10; idx++) {
+			startMeasuring();
+			firstProject.newTypeHierarchy(region, null);
+			stopMeasuring();
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+	}
 }
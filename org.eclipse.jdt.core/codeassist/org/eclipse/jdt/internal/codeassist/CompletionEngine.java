@@ -25,6 +25,7 @@ import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,6 +38,7 @@ import java.util.stream.StreamSupport;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -470,8 +472,15 @@ public final class CompletionEngine
 	public HashtableOfObject typeCache;
 	public int openedBinaryTypes; // used during InternalCompletionProposal#findConstructorParameterNames()
 
+	private final long startTime;
+	private boolean timeBudgetExceeded;
+
 	public static boolean DEBUG = false;
 	public static boolean PERF = false;
+	public static boolean PERF_FINDERS = false;
+
+	// time in milliseconds after which proposals that need a long computation (e.g. constructors found in the indexes) are no longer computed
+	public static long LONG_COMPUTATION_TIME_BUDGET = Long.getLong("org.eclipse.jdt.completion_time_budget", 0).longValue(); //$NON-NLS-1$
 
 	private static final char[] KNOWN_TYPE_WITH_UNKNOWN_CONSTRUCTORS = new char[]{};
 	private static final char[] KNOWN_TYPE_WITH_KNOWN_CONSTRUCTORS = new char[]{};
@@ -587,6 +596,9 @@ public final class CompletionEngine
 	HashtableOfObject knownModules = new HashtableOfObject(10);
 	HashtableOfObject knownPkgs = new HashtableOfObject(10);
 	HashtableOfObject knownTypes = new HashtableOfObject(10);
+	// members of the types already visited by this request, the same supertypes are visited for many receivers
+	Map<ReferenceBinding, MethodBinding[]> knownMethods = new HashMap<>();
+	Map<ReferenceBinding, FieldBinding[]> knownFields = new HashMap<>();
 
  	/*
 		static final char[][] mainDeclarations =
@@ -734,6 +746,7 @@ public final class CompletionEngine
 			new CompletionParser(this.problemReporter, this.requestor.isExtendedContextRequired(), monitor);
 		this.owner = owner;
 		this.monitor = monitor;
+		this.startTime = System.currentTimeMillis();
 	}
 
 	@Override
@@ -4142,7 +4155,7 @@ public final class CompletionEngine
 				}
 			}
 
-			FieldBinding[] fields = currentType.availableFields();
+			FieldBinding[] fields = availableFields(currentType);
 			if(fields != null && fields.length > 0) {
 				computeAlreadyDefinedName(
 					fields,
@@ -4158,7 +4171,7 @@ public final class CompletionEngine
 		if (interfacesToVisit != null) {
 			for (int i = 0; i < nextPosition; i++) {
 				ReferenceBinding anInterface = interfacesToVisit[i];
-				FieldBinding[] fields = anInterface.availableFields();
+				FieldBinding[] fields = availableFields(anInterface);
 				if(fields !=  null) {
 					computeAlreadyDefinedName(
 						fields,
@@ -4452,7 +4465,7 @@ public final class CompletionEngine
 			if(memberValuePairs == null || memberValuePairs.length == 0) {
 				if(annotation.resolvedType instanceof ReferenceBinding) {
 					MethodBinding[] methodBindings =
-						((ReferenceBinding)annotation.resolvedType).availableMethods();
+						availableMethods((ReferenceBinding)annotation.resolvedType);
 					if (methodBindings != null &&
 							methodBindings.length > 0 &&
 							CharOperation.equals(methodBindings[0].selector, VALUE)) {
@@ -4474,7 +4487,7 @@ public final class CompletionEngine
 			AssistNodeParentAnnotationArrayInitializer parent1 = (AssistNodeParentAnnotationArrayInitializer) parent;
 			if(parent1.type.resolvedType instanceof ReferenceBinding) {
 				MethodBinding[] methodBindings =
-					((ReferenceBinding)parent1.type.resolvedType).availableMethods();
+					availableMethods((ReferenceBinding)parent1.type.resolvedType);
 				if (methodBindings != null) {
 					for (MethodBinding methodBinding : methodBindings) {
 						if(CharOperation.equals(methodBinding.selector, parent1.name)) {
@@ -4580,7 +4593,7 @@ public final class CompletionEngine
 		if (arguments == null)
 			return;
 
-		MethodBinding[] methods = binding.availableMethods();
+		MethodBinding[] methods = availableMethods(binding);
 		nextMethod : for (MethodBinding method : methods) {
 			if (!method.isConstructor()) continue nextMethod;
 
@@ -4619,7 +4632,7 @@ public final class CompletionEngine
 		if (arguments == null)
 			return;
 
-		MethodBinding[] methods = binding.availableMethods();
+		MethodBinding[] methods = availableMethods(binding);
 		nextMethod : for (MethodBinding method : methods) {
 			if (method.isSynthetic()) continue nextMethod;
 
@@ -5556,7 +5569,7 @@ public final class CompletionEngine
 		}
 	}
 	private void findAnnotationAttributes(char[] token, MemberValuePair[] attributesFound, ReferenceBinding annotation) {
-		MethodBinding[] methods = annotation.availableMethods();
+		MethodBinding[] methods = availableMethods(annotation);
 		nextAttribute: for (MethodBinding method : methods) {
 			if(isFailedMatch(token, method.selector)) continue nextAttribute;
 
@@ -5980,10 +5993,10 @@ public final class CompletionEngine
 				if (originalGenericType != null)
 					methods = originalGenericType.methods();
 			} else {
-				methods = currentType.availableMethods();
+				methods = availableMethods(currentType);
 			}
 		} else {
-			methods = currentType.availableMethods();
+			methods = availableMethods(currentType);
 		}
 		if(methods != null) {
 			int minArgLength = argTypes == null ? 0 : argTypes.length;
@@ -6911,7 +6924,7 @@ public final class CompletionEngine
 		MethodBinding enclosingConstructor = constructorDeclaration.binding;
 
 		// No visibility checks can be performed without the scope & invocationSite
-		MethodBinding[] methods = currentType.availableMethods();
+		MethodBinding[] methods = availableMethods(currentType);
 		if(methods != null) {
 			next : for (int f = methods.length; --f >= 0;) {
 				MethodBinding constructor = methods[f];
@@ -7363,7 +7376,7 @@ public final class CompletionEngine
 				}
 			}
 
-			FieldBinding[] fields = currentType.availableFields();
+			FieldBinding[] fields = availableFields(currentType);
 			if(fields != null && fields.length > 0) {
 				findFields(
 					fieldName,
@@ -7391,7 +7404,7 @@ public final class CompletionEngine
 		if (notInJavadoc && interfacesToVisit != null) {
 			for (int i = 0; i < nextPosition; i++) {
 				ReferenceBinding anInterface = interfacesToVisit[i];
-				FieldBinding[] fields = anInterface.availableFields();
+				FieldBinding[] fields = availableFields(anInterface);
 				if(fields !=  null) {
 					findFields(
 						fieldName,
@@ -8001,7 +8014,7 @@ public final class CompletionEngine
 						break;
 					case Binding.METHOD:
 						MethodBinding methodBinding = (MethodBinding) favoriteBinding.getResolvedImport();
-						MethodBinding[] methods = methodBinding.declaringClass.availableMethods();
+						MethodBinding[] methods = availableMethods(methodBinding.declaringClass);
 						long range;
 						if ((range = ReferenceBinding.binarySearch(methodBinding.selector, methods)) >= 0) {
 							int start = (int) range, end = (int) (range >> 32);
@@ -8025,7 +8038,7 @@ public final class CompletionEngine
 						if(favoriteBinding.onDemand) {
 							findFieldsFromFavorites(
 									token,
-									referenceBinding.availableFields(),
+									availableFields(referenceBinding),
 									scope,
 									fieldsFound,
 									localsFound,
@@ -8035,7 +8048,7 @@ public final class CompletionEngine
 
 							findLocalMethodsFromFavorites(
 									token,
-									referenceBinding.availableMethods(),
+									availableMethods(referenceBinding),
 									scope,
 									methodsFound,
 									methodsFoundFromFavorites,
@@ -8562,16 +8575,21 @@ public final class CompletionEngine
 				false);
 		}
 		if(!this.requestor.isIgnored(CompletionProposal.TYPE_REF)) {
-			this.foundTypesCount = 0;
-			this.nameEnvironment.findTypes(
-					importName,
-					findMembers,
-					getTypesMatchRule(),
-					IJavaSearchConstants.TYPE,
-					false,
-					this,
-					this.monitor);
-			acceptTypes(null);
+			PerformanceStats stats = startFinder("types"); //$NON-NLS-1$
+			try {
+				this.foundTypesCount = 0;
+				this.nameEnvironment.findTypes(
+						importName,
+						findMembers,
+						getTypesMatchRule(),
+						IJavaSearchConstants.TYPE,
+						false,
+						this,
+						this.monitor);
+				acceptTypes(null);
+			} finally {
+				endFinder(stats);
+			}
 		}
 	}
 
@@ -8631,7 +8649,7 @@ public final class CompletionEngine
 	}
 
 	private void findImportsOfStaticFields(char[] fieldName, ReferenceBinding ref) {
-		FieldBinding[] fields = ref.availableFields();
+		FieldBinding[] fields = availableFields(ref);
 
 		int fieldLength = fieldName.length;
 		next : for (int m = fields.length; --m >= 0;) {
@@ -8688,7 +8706,7 @@ public final class CompletionEngine
 	}
 
 	private void findImportsOfStaticMethods(char[] methodName, ReferenceBinding ref) {
-		MethodBinding[] methods = ref.availableMethods();
+		MethodBinding[] methods = availableMethods(ref);
 
 		int methodLength = methodName.length;
 		next : for (int m = methods.length; --m >= 0;) {
@@ -8778,7 +8796,7 @@ public final class CompletionEngine
 
 			for (int i = 0; i < nextPosition; i++) {
 				ReferenceBinding currentType = interfacesToVisit[i];
-				MethodBinding[] methods = currentType.availableMethods();
+				MethodBinding[] methods = availableMethods(currentType);
 				if(methods != null) {
 					findLocalMethodDeclarations(
 						selector,
@@ -8811,6 +8829,7 @@ public final class CompletionEngine
 		TypeBinding[] argTypes,
 		ReferenceBinding receiverType,
 		ReferenceBinding[] itsInterfaces,
+		ObjectVector interfacesVisited,
 		Scope scope,
 		ObjectVector methodsFound,
 		boolean onlyStaticMethods,
@@ -8837,7 +8856,11 @@ public final class CompletionEngine
 
 			for (int i = 0; i < nextPosition; i++) {
 				ReferenceBinding currentType = interfacesToVisit[i];
-				MethodBinding[] methods = currentType.availableMethods();
+				// an interface implemented at several levels of the hierarchy was visited with its superinterfaces already
+				if (interfacesVisited.containsIdentical(currentType))
+					continue;
+				interfacesVisited.add(currentType);
+				MethodBinding[] methods = availableMethods(currentType);
 				if(methods != null) {
 					findLocalMethods(
 						selector,
@@ -10857,7 +10880,7 @@ public final class CompletionEngine
 			return;
 		}
 
-		MethodBinding[] receiverTypeMethods = receiverType.availableMethods();
+		MethodBinding[] receiverTypeMethods = availableMethods(receiverType);
 		if (receiverTypeMethods != null){
 			for (MethodBinding receiverTypeMethod : receiverTypeMethods) {
 				if (receiverType.isRecord() && receiverTypeMethod instanceof SyntheticMethodBinding smb) {
@@ -10894,7 +10917,7 @@ public final class CompletionEngine
 		boolean hasPotentialDefaultAbstractMethods = true;
 		while (currentType != null) {
 
-			MethodBinding[] methods = currentType.availableMethods();
+			MethodBinding[] methods = availableMethods(currentType);
 			if (methods != null) {
 				findLocalMethodDeclarations(
 					selector,
@@ -11039,6 +11062,7 @@ public final class CompletionEngine
 			return;		// no methods should be proposed inside case expression
 
 		ReferenceBinding currentType = receiverType;
+		ObjectVector interfacesVisited = new ObjectVector();
 		if (notInJavadoc) {
 			if (receiverType.isInterface()) {
 				findInterfacesMethods(
@@ -11047,6 +11071,7 @@ public final class CompletionEngine
 					argTypes,
 					receiverType,
 					new ReferenceBinding[]{currentType},
+					interfacesVisited,
 					scope,
 					methodsFound,
 					onlyStaticMethods,
@@ -11070,7 +11095,7 @@ public final class CompletionEngine
 		boolean hasPotentialDefaultAbstractMethods = true;
 		while (currentType != null) {
 
-			MethodBinding[] methods = currentType.availableMethods();
+			MethodBinding[] methods = availableMethods(currentType);
 			if (methods != null) {
 				findLocalMethods(
 					selector,
@@ -11115,6 +11140,7 @@ public final class CompletionEngine
 					argTypes,
 					receiverType,
 					superInterfaces,
+					interfacesVisited,
 					scope,
 					methodsFound,
 					onlyStaticMethods,
@@ -11811,14 +11837,19 @@ public final class CompletionEngine
 
 				checkCancel();
 
-				this.foundConstructorsCount = 0;
-				this.nameEnvironment.findConstructorDeclarations(
-						token,
-						getTypesMatchRule(),
-						false,
-						this,
-						this.monitor);
-				acceptConstructors(scope);
+				PerformanceStats stats = startFinder("constructors"); //$NON-NLS-1$
+				try {
+					this.foundConstructorsCount = 0;
+					this.nameEnvironment.findConstructorDeclarations(
+							token,
+							getTypesMatchRule(),
+							false,
+							this,
+							this.monitor);
+					acceptConstructors(scope);
+				} finally {
+					endFinder(stats);
+				}
 			} else if (proposeType) {
 				int l = typesFound.size();
 				for (int i = 0; i < l; i++) {
@@ -11845,16 +11876,21 @@ public final class CompletionEngine
 
 				checkCancel();
 
-				this.foundTypesCount = 0;
-				this.nameEnvironment.findTypes(
-						token,
-						proposeAllMemberTypes,
-						getTypesMatchRule(),
-						searchFor,
-						false,
-						this,
-						this.monitor);
-				acceptTypes(scope);
+				PerformanceStats stats = startFinder("types"); //$NON-NLS-1$
+				try {
+					this.foundTypesCount = 0;
+					this.nameEnvironment.findTypes(
+							token,
+							proposeAllMemberTypes,
+							getTypesMatchRule(),
+							searchFor,
+							false,
+							this,
+							this.monitor);
+					acceptTypes(scope);
+				} finally {
+					endFinder(stats);
+				}
 			}
 			if(!isEmptyPrefix && !this.requestor.isIgnored(CompletionProposal.PACKAGE_REF)) {
 
@@ -12151,14 +12187,19 @@ public final class CompletionEngine
 
 			checkCancel();
 
-			this.foundConstructorsCount = 0;
-			this.nameEnvironment.findConstructorDeclarations(
-					qualifiedName,
-					getTypesMatchRule(),
-					false,
-					this,
-					this.monitor);
-			acceptConstructors(scope);
+			PerformanceStats stats = startFinder("constructors"); //$NON-NLS-1$
+			try {
+				this.foundConstructorsCount = 0;
+				this.nameEnvironment.findConstructorDeclarations(
+						qualifiedName,
+						getTypesMatchRule(),
+						false,
+						this,
+						this.monitor);
+				acceptConstructors(scope);
+			} finally {
+				endFinder(stats);
+			}
 		} if(proposeType) {
 			int searchFor = IJavaSearchConstants.TYPE;
 			if(this.assistNodeIsClass) {
@@ -12175,16 +12216,21 @@ public final class CompletionEngine
 
 			checkCancel();
 
-			this.foundTypesCount = 0;
-			this.nameEnvironment.findTypes(
-					qualifiedName,
-					false,
-					getTypesMatchRule(),
-					searchFor,
-					false,
-					this,
-					this.monitor);
-			acceptTypes(scope);
+			PerformanceStats stats = startFinder("types"); //$NON-NLS-1$
+			try {
+				this.foundTypesCount = 0;
+				this.nameEnvironment.findTypes(
+						qualifiedName,
+						false,
+						getTypesMatchRule(),
+						searchFor,
+						false,
+						this,
+						this.monitor);
+				acceptTypes(scope);
+			} finally {
+				endFinder(stats);
+			}
 		}
 
 		if(!this.requestor.isIgnored(CompletionProposal.PACKAGE_REF)) {
@@ -13670,7 +13716,34 @@ public final class CompletionEngine
 		return inlineCompletion;
 	}
 	private boolean isAllowingLongComputationProposals() {
-		return this.monitor != null;
+		if (this.monitor == null || this.timeBudgetExceeded)
+			return false;
+		if (LONG_COMPUTATION_TIME_BUDGET > 0 && System.currentTimeMillis() - this.startTime > LONG_COMPUTATION_TIME_BUDGET) {
+			// keep the decision, so that the proposals of the rest of this completion are consistent
+			this.timeBudgetExceeded = true;
+			if (DEBUG) {
+				trace("COMPLETION - time budget exceeded, skipping long computation proposals"); //$NON-NLS-1$
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/*
+	 * Starts measuring the time spent by the given finder, see JavaModelManager#COMPLETION_FINDER_PERF.
+	 * Returns null if the finders are not measured.
+	 */
+	private PerformanceStats startFinder(String finder) {
+		if (!PERF_FINDERS)
+			return null;
+		PerformanceStats stats = PerformanceStats.getStats(JavaModelManager.COMPLETION_FINDER_PERF, finder);
+		stats.startRun(this.fileName == null ? null : new String(this.fileName));
+		return stats;
+	}
+
+	private static void endFinder(PerformanceStats stats) {
+		if (stats != null)
+			stats.endRun();
 	}
 
 	/**
@@ -14486,6 +14559,26 @@ public final class CompletionEngine
 		}
 	}
 
+	private MethodBinding[] availableMethods(ReferenceBinding type) {
+		MethodBinding[] methods = this.knownMethods.get(type);
+		if (methods == null) {
+			methods = type.availableMethods();
+			if (methods != null)
+				this.knownMethods.put(type, methods);
+		}
+		return methods;
+	}
+
+	private FieldBinding[] availableFields(ReferenceBinding type) {
+		FieldBinding[] fields = this.knownFields.get(type);
+		if (fields == null) {
+			fields = type.availableFields();
+			if (fields != null)
+				this.knownFields.put(type, fields);
+		}
+		return fields;
+	}
+
 	protected void reset() {
 
 		super.reset(false);
@@ -14494,6 +14587,8 @@ public final class CompletionEngine
 		this.knownModules = new HashtableOfObject(10);
 		this.knownPkgs = new HashtableOfObject(10);
 		this.knownTypes = new HashtableOfObject(10);
+		this.knownMethods = new HashMap<>();
+		this.knownFields = new HashMap<>();
 		if (this.noCacheNameEnvironment != null) {
 			this.noCacheNameEnvironment.cleanup();
 			this.noCacheNameEnvironment = null;
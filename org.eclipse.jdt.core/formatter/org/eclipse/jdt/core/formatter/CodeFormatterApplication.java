@@ -17,16 +17,42 @@
 package org.eclipse.jdt.core.formatter;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.eclipse.core.runtime.Plugin;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -43,9 +69,11 @@ import org.eclipse.text.edits.TextEdit;
  * in which the eclipse.ini file is located. This makes it harder to use relative paths to point to the
  * files to be formatted or the configuration file to use to set the code formatter's options.</p>
  *
- * <p>There are a couple improvements that could be made: 1. Make a list of all the
- * files first so that a file does not get formatted twice. 2. Use a text based
- * progress monitor for output.</p>
+ * <p>The files to format are listed first, so that a file does not get formatted twice. They can be
+ * formatted by several threads, each using its own formatter, and the files already formatted with
+ * the same options can be skipped using a cache file.</p>
+ *
+ * <p>There is an improvement that could be made: use a text based progress monitor for output.</p>
  *
  * @since 3.2
  * @noinstantiate This class is not intended to be instantiated by clients.
@@ -61,6 +89,10 @@ public class CodeFormatterApplication implements IApplication {
 	private final static class Messages extends NLS {
 		private static final String BUNDLE_NAME = "org.eclipse.jdt.core.formatter.messages";//$NON-NLS-1$
 
+		public static String CacheFileReadingError;
+
+		public static String CacheFileWritingError;
+
 		public static String CommandLineConfigFile;
 
 		public static String CommandLineDone;
@@ -75,12 +107,18 @@ public class CodeFormatterApplication implements IApplication {
 
 		public static String CommandLineErrorQuietVerbose;
 
+		public static String CommandLineErrorNoCacheFile;
+
 		public static String CommandLineErrorNoConfigFile;
 
+		public static String CommandLineErrorThreads;
+
 		public static String CommandLineFormatting;
 
 		public static String CommandLineStart;
 
+		public static String CommandLineSummary;
+
 		public static String CommandLineUsage;
 
 		public static String ConfigFileNotFoundErrorTryFullPath;
@@ -158,14 +196,27 @@ public class CodeFormatterApplication implements IApplication {
 		}
 	}
 
+	private static final String ARG_CACHE = "-cache"; //$NON-NLS-1$
+
 	private static final String ARG_CONFIG = "-config"; //$NON-NLS-1$
 
 	private static final String ARG_HELP = "-help"; //$NON-NLS-1$
 
 	private static final String ARG_QUIET = "-quiet"; //$NON-NLS-1$
 
+	private static final String ARG_THREADS = "-threads"; //$NON-NLS-1$
+
 	private static final String ARG_VERBOSE = "-verbose"; //$NON-NLS-1$
 
+	private String cacheName;
+
+	/*
+	 * The content hashes of the files known to be formatted, by absolute path, or null if no cache file was given.
+	 */
+	private Map<String, String> formattedFiles;
+
+	private byte[] optionsHash;
+
 	private String configName;
 
 	private Map options = null;
@@ -174,6 +225,8 @@ public class CodeFormatterApplication implements IApplication {
 
 	private boolean quiet = false;
 
+	private int threads = 1;
+
 	private boolean verbose = false;
 
 	/**
@@ -190,35 +243,62 @@ public class CodeFormatterApplication implements IApplication {
 	}
 
 	/**
-	 * Recursively format the Java source code that is contained in the
-	 * directory rooted at dir.
+	 * Lists the Java source files to format, recursively looking into the given directories.
 	 */
-	private void formatDirTree(File dir, CodeFormatter codeFormatter) {
-
-		File[] files = dir.listFiles();
-		if (files == null)
-			return;
-
-		for (File file : files) {
-			if (file.isDirectory()) {
-				formatDirTree(file, codeFormatter);
-			} else if (Util.isJavaLikeFileName(file.getPath())) {
-				formatFile(file, codeFormatter);
+	private List<File> collectFiles(File[] filesToFormat) throws IOException {
+		Set<Path> files = new LinkedHashSet<>();
+		for (File file : filesToFormat) {
+			Path path = file.toPath().toAbsolutePath().normalize();
+			if (Files.isDirectory(path)) {
+				Files.walkFileTree(path, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(Path visited, BasicFileAttributes attributes) throws IOException {
+						if (Files.isRegularFile(visited) && Util.isJavaLikeFileName(visited.toString())) {
+							files.add(visited.toRealPath()); // a file linked several times is formatted once
+						}
+						return FileVisitResult.CONTINUE;
+					}
+					@Override
+					public FileVisitResult visitFileFailed(Path visited, IOException e) {
+						return FileVisitResult.CONTINUE; // unreadable directories and link cycles are skipped
+					}
+				});
+			} else if (Util.isJavaLikeFileName(path.toString())) {
+				files.add(path);
 			}
 		}
+		List<File> result = new ArrayList<>(files.size());
+		for (Path path : files) {
+			result.add(path.toFile());
+		}
+		return result;
 	}
 
 	/**
-	 * Format the given Java source file.
+	 * The outcome of the formatting of a file.
 	 */
-	private void formatFile(File file, CodeFormatter codeFormatter) {
+	private enum FormatResult {
+		FORMATTED,
+		SKIPPED,
+		FAILED
+	}
+
+	/**
+	 * Format the given Java source file. Answers whether the file was formatted, skipped because it is known to be
+	 * formatted, or could not be formatted.
+	 */
+	private FormatResult formatFile(File file, CodeFormatter codeFormatter) {
 		IDocument doc = new Document();
 		try {
 			// read the file
+			String contents = new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, null));
+			String path = file.getAbsolutePath();
+			if (this.formattedFiles != null && hash(contents).equals(this.formattedFiles.get(path))) {
+				return FormatResult.SKIPPED;
+			}
 			if (this.verbose) {
-				System.out.println(Messages.bind(Messages.CommandLineFormatting, file.getAbsolutePath()));
+				System.out.println(Messages.bind(Messages.CommandLineFormatting, path));
 			}
-			String contents = new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, null));
 			// format the file (the meat and potatoes)
 			doc.set(contents);
 			int kind = (file.getName().equals(IModule.MODULE_INFO_JAVA)? CodeFormatter.K_MODULE_INFO
@@ -228,14 +308,21 @@ public class CodeFormatterApplication implements IApplication {
 				edit.apply(doc);
 			} else {
 				System.err.println(Messages.bind(Messages.FormatProblem, file.getAbsolutePath()));
-				return;
+				return FormatResult.FAILED;
 			}
 
 			// write the file
-			try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
-				out.write(doc.get());
-				out.flush();
+			String formatted = doc.get();
+			if (!formatted.equals(contents)) {
+				try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+					out.write(formatted);
+					out.flush();
+				}
 			}
+			if (this.formattedFiles != null) {
+				this.formattedFiles.put(path, hash(formatted));
+			}
+			return FormatResult.FORMATTED;
 		} catch (IOException e) {
 			String errorMessage = Messages.bind(Messages.CaughtException, "IOException", e.getLocalizedMessage()); //$NON-NLS-1$
 			Util.log(e, errorMessage);
@@ -245,6 +332,70 @@ public class CodeFormatterApplication implements IApplication {
 			Util.log(e, errorMessage);
 			System.err.println(Messages.bind(Messages.ExceptionSkip ,errorMessage));
 		}
+		return FormatResult.FAILED;
+	}
+
+	/**
+	 * Format the given files using the number of threads given on the command line, each thread using its own formatter.
+	 * The number of files of each {@link FormatResult} is counted at its ordinal in the given array.
+	 */
+	private void formatFiles(List<File> files, AtomicIntegerArray counts) throws Exception {
+		if (this.threads == 1) {
+			CodeFormatter codeFormatter = ToolFactory.createCodeFormatter(this.options, ToolFactory.M_FORMAT_EXISTING);
+			for (File file : files) {
+				counts.incrementAndGet(formatFile(file, codeFormatter).ordinal());
+			}
+			return;
+		}
+		ThreadLocal<CodeFormatter> codeFormatters = ThreadLocal.withInitial(() -> ToolFactory.createCodeFormatter(this.options, ToolFactory.M_FORMAT_EXISTING));
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			List<Future<?>> results = new ArrayList<>(files.size());
+			for (File file : files) {
+				results.add(executor.submit(() -> counts.incrementAndGet(formatFile(file, codeFormatters.get()).ordinal())));
+			}
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Exception exception)
+						throw exception;
+					throw e;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Answers the hash of the given contents formatted with the current options.
+	 */
+	private String hash(String contents) {
+		MessageDigest digest = newDigest();
+		digest.update(this.optionsHash);
+		digest.update(contents.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private byte[] hashOptions() {
+		Map<String, String> sortedOptions = new TreeMap<>();
+		for (Object option : this.options.entrySet()) {
+			Map.Entry entry = (Map.Entry) option;
+			sortedOptions.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+		}
+		// a new version of the formatter may format differently
+		Plugin plugin = JavaCore.getPlugin();
+		String version = plugin == null ? "" : plugin.getBundle().getVersion().toString(); //$NON-NLS-1$
+		return newDigest().digest((version + sortedOptions).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // every Java platform supports SHA-256
+		}
 	}
 
 	private File[] processCommandLine(String[] argsArray) {
@@ -254,6 +405,8 @@ public class CodeFormatterApplication implements IApplication {
 
 		final int DEFAULT_MODE = 0;
 		final int CONFIG_MODE = 1;
+		final int CACHE_MODE = 2;
+		final int THREADS_MODE = 3;
 
 		int mode = DEFAULT_MODE;
 		final int INITIAL_SIZE = 1;
@@ -285,6 +438,14 @@ public class CodeFormatterApplication implements IApplication {
 						mode = CONFIG_MODE;
 						continue loop;
 					}
+					if (ARG_CACHE.equals(currentArg)) {
+						mode = CACHE_MODE;
+						continue loop;
+					}
+					if (ARG_THREADS.equals(currentArg)) {
+						mode = THREADS_MODE;
+						continue loop;
+					}
 					// the current arg should be a file or a directory name
 					File file = new File(currentArg);
 					if (file.exists()) {
@@ -315,9 +476,33 @@ public class CodeFormatterApplication implements IApplication {
 					}
 					mode = DEFAULT_MODE;
 					continue loop;
+				case CACHE_MODE :
+					this.cacheName = currentArg;
+					mode = DEFAULT_MODE;
+					continue loop;
+				case THREADS_MODE :
+					try {
+						this.threads = Integer.parseInt(currentArg);
+					} catch (NumberFormatException e) {
+						this.threads = 0;
+					}
+					if (this.threads < 1) {
+						displayHelp(Messages.bind(Messages.CommandLineErrorThreads, currentArg));
+						return null;
+					}
+					mode = DEFAULT_MODE;
+					continue loop;
 			}
 		}
 
+		if (mode == CACHE_MODE) {
+			displayHelp(Messages.bind(Messages.CommandLineErrorNoCacheFile));
+			return null;
+		}
+		if (mode == THREADS_MODE) {
+			displayHelp(Messages.bind(Messages.CommandLineErrorThreads, "")); //$NON-NLS-1$
+			return null;
+		}
 		if (mode == CONFIG_MODE || this.options == null) {
 			displayHelp(Messages.bind(Messages.CommandLineErrorNoConfigFile));
 			return null;
@@ -373,6 +558,45 @@ public class CodeFormatterApplication implements IApplication {
 		return null;
 	}
 
+	/**
+	 * Read the content hashes of the files formatted by a previous run from the cache file, if any.
+	 */
+	private void readCache() {
+		this.optionsHash = hashOptions();
+		this.formattedFiles = new ConcurrentHashMap<>();
+		File cacheFile = new File(this.cacheName);
+		if (!cacheFile.exists())
+			return;
+		try (BufferedInputStream stream = new BufferedInputStream(new FileInputStream(cacheFile))) {
+			Properties properties = new Properties();
+			properties.load(stream);
+			for (String path : properties.stringPropertyNames()) {
+				this.formattedFiles.put(path, properties.getProperty(path));
+			}
+		} catch (IOException e) {
+			// format all the files again
+			String errorMessage = Messages.bind(Messages.CacheFileReadingError, cacheFile.getAbsolutePath());
+			Util.log(e, errorMessage);
+			System.err.println(errorMessage);
+		}
+	}
+
+	/**
+	 * Write the content hashes of the formatted files to the cache file.
+	 */
+	private void writeCache() {
+		File cacheFile = new File(this.cacheName);
+		Properties properties = new Properties();
+		properties.putAll(this.formattedFiles);
+		try (BufferedOutputStream stream = new BufferedOutputStream(new FileOutputStream(cacheFile))) {
+			properties.store(stream, null);
+		} catch (IOException e) {
+			String errorMessage = Messages.bind(Messages.CacheFileWritingError, cacheFile.getAbsolutePath());
+			Util.log(e, errorMessage);
+			System.err.println(errorMessage);
+		}
+	}
+
 	/**
 	 * Runs the Java code formatter application
 	 */
@@ -391,17 +615,29 @@ public class CodeFormatterApplication implements IApplication {
 			System.out.println(Messages.bind(Messages.CommandLineStart));
 		}
 
-		final CodeFormatter codeFormatter = ToolFactory.createCodeFormatter(this.options,
-				ToolFactory.M_FORMAT_EXISTING);
+		if (this.cacheName != null) {
+			readCache();
+		}
+		long start = System.nanoTime();
+		AtomicIntegerArray counts = new AtomicIntegerArray(FormatResult.values().length);
 		// format the list of files and/or directories
-		for (final File file : filesToFormat) {
-			if (file.isDirectory()) {
-				formatDirTree(file, codeFormatter);
-			} else if (Util.isJavaLikeFileName(file.getPath())) {
-				formatFile(file, codeFormatter);
-			}
+		formatFiles(collectFiles(filesToFormat), counts);
+		long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		if (this.cacheName != null) {
+			writeCache();
 		}
 		if (!this.quiet) {
+			int formatted = counts.get(FormatResult.FORMATTED.ordinal());
+			int skipped = counts.get(FormatResult.SKIPPED.ordinal());
+			int failed = counts.get(FormatResult.FAILED.ordinal());
+			long filesPerSecond = (formatted + skipped + failed) * 1000L / elapsedMillis;
+			System.out.println(Messages.bind(Messages.CommandLineSummary, new Object[] {
+				Integer.toString(formatted),
+				Integer.toString(skipped),
+				Integer.toString(failed),
+				Long.toString(elapsedMillis),
+				Long.toString(filesPerSecond)
+			}));
 			System.out.println(Messages.bind(Messages.CommandLineDone));
 		}
 
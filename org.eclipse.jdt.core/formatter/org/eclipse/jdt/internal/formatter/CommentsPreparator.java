@@ -426,7 +426,8 @@ public class CommentsPreparator extends ASTVisitor {
 			return;
 
 		boolean isHeader = this.tm.isInHeader(commentIndex);
-		boolean formattingEnabled = (isHeader ? this.options.comment_format_header : this.options.comment_format_block_comment);
+		boolean formattingEnabled = (isHeader ? this.options.comment_format_header : this.options.comment_format_block_comment)
+				&& this.tm.isInFormatScope(commentToken);
 		if (this.tm.charAt(commentToken.originalStart + 2) == '-') {
 			if (commentToken.getLineBreaksBefore() > 0 || commentIndex == 0
 					|| this.tm.get(commentIndex - 1).getLineBreaksAfter() > 0) {
@@ -603,7 +604,8 @@ public class CommentsPreparator extends ASTVisitor {
 			return false;
 
 		boolean isHeader = this.tm.isInHeader(commentIndex);
-		boolean formattingEnabled = (isHeader ? this.options.comment_format_header : this.options.comment_format_javadoc_comment);
+		boolean formattingEnabled = (isHeader ? this.options.comment_format_header : this.options.comment_format_javadoc_comment)
+				&& this.tm.isInFormatScope(commentToken);
 		if (!formattingEnabled || !tokenizeMultilineComment(commentToken)) {
 			commentToken.setInternalStructure(commentToLines(commentToken, -1));
 			return false;
@@ -42,9 +42,12 @@ import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.Comment;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.Javadoc;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.Statement;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
@@ -69,6 +72,11 @@ public class DefaultCodeFormatter extends CodeFormatter {
 	 */
 	public static boolean DEBUG = false;
 
+	/*
+	 * When formatting only some regions of the source, skip the work that cannot affect them
+	 */
+	private static final boolean LIMIT_TO_REGIONS = !Boolean.getBoolean("org.eclipse.jdt.disable_format_regions_scope"); //$NON-NLS-1$
+
 	private static final int K_COMMENTS_MASK = K_SINGLE_LINE_COMMENT
 		| K_MULTI_LINE_COMMENT
 		| K_JAVA_DOC;
@@ -224,6 +232,11 @@ public class DefaultCodeFormatter extends CodeFormatter {
 
 		if (kind != CodeFormatter.K_UNKNOWN)
 			findHeader();
+		if (LIMIT_TO_REGIONS && !coversSource(this.formatRegions)) {
+			List<IRegion> scope = getFormatScope();
+			if (!coversSource(scope))
+				this.tokenManager.setFormatScope(scope);
+		}
 
 		prepareSpaces();
 		prepareLineBreaks();
@@ -233,6 +246,37 @@ public class DefaultCodeFormatter extends CodeFormatter {
 		return this.tokens;
 	}
 
+	/*
+	 * Extends the format regions to the statements or declarations enclosing them, as lines inside them may be joined.
+	 */
+	private List<IRegion> getFormatScope() {
+		List<IRegion> scope = new ArrayList<>(this.formatRegions.size());
+		for (IRegion region : this.formatRegions) {
+			ASTNode node = new NodeFinder(this.astRoot, region.getOffset(), region.getLength()).getCoveringNode();
+			while (node != null && !(node instanceof Statement || node instanceof BodyDeclaration))
+				node = node.getParent();
+			if (node == null)
+				return List.of(new Region(0, this.sourceString.length()));
+			int start = Math.min(node.getStartPosition(), region.getOffset());
+			int end = Math.max(node.getStartPosition() + node.getLength(), region.getOffset() + region.getLength());
+			scope.add(new Region(start, end - start));
+		}
+		return scope;
+	}
+
+	/*
+	 * Whether the given regions, taken in source order, leave no part of the source out, e.g. when the whole source is formatted.
+	 */
+	private boolean coversSource(List<IRegion> regions) {
+		int covered = 0;
+		for (IRegion region : regions) {
+			if (region.getOffset() > covered)
+				return false;
+			covered = Math.max(covered, region.getOffset() + region.getLength());
+		}
+		return covered >= this.sourceString.length();
+	}
+
 	private void findHeader() {
 		if (this.astRoot instanceof CompilationUnit unit) {
 			List<TypeDeclaration> types = unit.types();
@@ -35,6 +35,8 @@ import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
 import org.eclipse.jdt.internal.formatter.Token.WrapMode;
 import org.eclipse.jdt.internal.formatter.linewrap.CommentWrapExecutor;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
 
 /**
  * A helper class that can be used to easily access source code and find tokens on any position.
@@ -60,6 +62,7 @@ public class TokenManager implements Iterable<Token> {
 	private HashMap<Integer, Integer> tokenIndexToNLSAlign;
 	private final List<Token[]> formatOffTagPairs = new ArrayList<>();
 	private int headerEndIndex = 0;
+	private List<IRegion> formatScope;
 
 	public TokenManager(List<Token> tokens, String source, DefaultCodeFormatterOptions options) {
 		this.tokens = tokens;
@@ -458,6 +461,45 @@ public class TokenManager implements Iterable<Token> {
 		return tokenIndex < this.headerEndIndex;
 	}
 
+	/**
+	 * Limits the formatting work that doesn't affect other lines (like comment formatting) to the lines
+	 * touched by the given scope regions, as the rest of the source is left unchanged anyway.
+	 */
+	public void setFormatScope(List<IRegion> regions) {
+		List<IRegion> scope = new ArrayList<>(regions.size());
+		for (IRegion region : regions) {
+			int start = region.getOffset();
+			int end = region.getOffset() + region.getLength();
+			while (start > 0 && !isLineBreak(this.source.charAt(start - 1)))
+				start--;
+			while (end < this.source.length() && !isLineBreak(this.source.charAt(end)))
+				end++;
+			scope.add(new Region(start, end - start + 1));
+		}
+		this.formatScope = scope;
+	}
+
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r';
+	}
+
+	public boolean hasFormatScope() {
+		return this.formatScope != null;
+	}
+
+	/**
+	 * @return true if the given token is on a line touched by the format regions, or if there's no format scope.
+	 */
+	public boolean isInFormatScope(Token token) {
+		if (this.formatScope == null)
+			return true;
+		for (IRegion region : this.formatScope) {
+			if (token.originalStart < region.getOffset() + region.getLength() && token.originalEnd >= region.getOffset())
+				return true;
+		}
+		return false;
+	}
+
 	public void addDisableFormatTokenPair(Token formatOffTag, Token formatOnTag) {
 		this.formatOffTagPairs.add(new Token[] { formatOffTag, formatOnTag });
 	}
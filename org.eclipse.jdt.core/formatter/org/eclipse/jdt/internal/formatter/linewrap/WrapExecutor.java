@@ -20,6 +20,7 @@ import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameCO
 import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameCOMMENT_LINE;
 import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameTextBlock;
 import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameWHITESPACE;
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -28,6 +29,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.function.Predicate;
 import org.eclipse.jdt.internal.compiler.parser.ScannerHelper;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfLong;
+import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions.Alignment;
 import org.eclipse.jdt.internal.formatter.Token;
@@ -48,35 +51,19 @@ public class WrapExecutor {
 			this.indent = indent;
 		}
 
-		public WrapInfo() {
-			// empty constructor
-		}
-
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + this.indent;
-			result = prime * result + this.wrapTokenIndex;
-			return result;
+		/**
+		 * The key of this wrap in {@link WrapExecutor#wrapSearchResults}.
+		 */
+		long key() {
+			return key(this.wrapTokenIndex, this.indent);
 		}
 
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (getClass() != obj.getClass())
-				return false;
-			WrapInfo other = (WrapInfo) obj;
-			if (this.indent != other.indent)
-				return false;
-			if (this.wrapTokenIndex != other.wrapTokenIndex)
-				return false;
-			return true;
+		static long key(int wrapTokenIndex, int indent) {
+			// the table only hashes on the high bits, which must be positive, and doesn't accept 0:
+			// mix the indent into them, so that the indents of a token don't all land in the same bucket
+			int high = ((wrapTokenIndex + 1) ^ (indent * 0x9E3779B9)) & 0x7FFFFFFF;
+			return ((long) high << 32) | (indent & 0xFFFFFFFFL);
 		}
-
 	}
 
 	private static class WrapResult {
@@ -89,7 +76,7 @@ public class WrapExecutor {
 		public final int extraPenalty;
 		/**
 		 * Contains information about the next wrap in the result or <code>null</code> if this is the last wrap.
-		 * Can be used as a key in {@link WrapExecutor#wrapSearchResults} to retrieve the next wraps.
+		 * Its {@link WrapInfo#key()} can be used in {@link WrapExecutor#wrapSearchResults} to retrieve the next wraps.
 		 */
 		public final WrapInfo nextWrap;
 
@@ -281,7 +268,7 @@ public class WrapExecutor {
 			while (furtherWrap != null) {
 				if (aligner.test(this.tm2.get(furtherWrap.wrapTokenIndex)))
 					return;
-				furtherWrap = WrapExecutor.this.wrapSearchResults.get(furtherWrap).nextWrap;
+				furtherWrap = getWrapResult(furtherWrap).nextWrap;
 			}
 			// check all tokens that are already wrapped
 			for (int i = index; i <= wrapPolicy.groupEndIndex; i++) {
@@ -305,12 +292,30 @@ public class WrapExecutor {
 				} else {
 					this.initialIndent = Math.max(0, token.getIndent() + this.fixedIndentDelta);
 				}
-				WrapExecutor.this.wrapSearchResults.clear();
+				clearWrapSearch();
 			}
 
 			this.currentIndent = this.stack.isEmpty() ? this.initialIndent : this.stack.peek().getIndent();
 			setIndent(token, this.currentIndent);
-			this.nextWrap = findWrapsCached(index, this.currentIndent).nextWrap;
+			this.nextWrap = mayWrapInsideFormatRegion(index) ? findWrapsCached(index, this.currentIndent).nextWrap : null;
+		}
+
+		/**
+		 * Wraps are only searched inside the format regions, so there's no need to search a line that ends before
+		 * the next region. The line is assumed to extend up to the next line break that already exists.
+		 */
+		private boolean mayWrapInsideFormatRegion(int lineStartIndex) {
+			if (!this.tm2.hasFormatScope())
+				return true;
+			int lineEndIndex = lineStartIndex;
+			while (lineEndIndex + 1 < this.tm2.size() && this.tm2.get(lineEndIndex).getLineBreaksAfter() == 0
+					&& this.tm2.get(lineEndIndex + 1).getLineBreaksBefore() == 0)
+				lineEndIndex++;
+			int start = lineStartIndex == 0 ? 0 : this.tm2.get(lineStartIndex - 1).originalEnd;
+			int end = lineEndIndex + 1 < this.tm2.size() ? this.tm2.get(lineEndIndex + 1).originalStart
+					: this.tm2.get(lineEndIndex).originalEnd;
+			return WrapExecutor.this.regions.stream()
+					.anyMatch(r -> r.getOffset() <= end && start < r.getOffset() + r.getLength());
 		}
 
 		private boolean isFixedLineStart(Token token, int index) {
@@ -450,8 +455,21 @@ public class WrapExecutor {
 
 	private final static int[] EMPTY_ARRAY = {};
 
-	final HashMap<WrapInfo, WrapResult> wrapSearchResults = new HashMap<>();
+	/*
+	 * Maximum number of line wrap search states per top level line, after which the wraps of the line are searched
+	 * greedily. The search of long fluent chains or large array initializers may otherwise take too long.
+	 */
+	public static int SEARCH_BUDGET = Integer.getInteger("org.eclipse.jdt.format_wrap_search_budget", 1_000_000); //$NON-NLS-1$
+
+	/** Search results keyed by {@link WrapInfo#key()} */
+	HashtableOfLong wrapSearchResults = new HashtableOfLong();
 	private final ArrayDeque<WrapInfo> wrapSearchStack = new ArrayDeque<>();
+	private int lineSearchStates;
+	private boolean greedySearch;
+
+	// statistics
+	private int searchStates;
+	private int greedyLines;
 
 	private final LineAnalyzer lineAnalyzer;
 
@@ -459,8 +477,6 @@ public class WrapExecutor {
 	final DefaultCodeFormatterOptions options;
 	final List<IRegion> regions;
 
-	private final WrapInfo wrapInfoTemp = new WrapInfo();
-
 	public WrapExecutor(TokenManager tokenManager, DefaultCodeFormatterOptions options, List<IRegion> regions) {
 		this.tm = tokenManager;
 		this.options = options;
@@ -471,12 +487,28 @@ public class WrapExecutor {
 	public void executeWraps() {
 		this.tm.traverse(0, new WrapsApplier());
 		this.tm.traverse(0, new NLSTagHandler());
+		if (DefaultCodeFormatter.DEBUG) {
+			trace("Line wrap search: " + this.tm.size() + " tokens, " + this.searchStates + " states, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ this.greedyLines + " lines searched greedily after exceeding the budget"); //$NON-NLS-1$
+		}
+	}
+
+	WrapResult getWrapResult(WrapInfo wrapInfo) {
+		return (WrapResult) this.wrapSearchResults.get(wrapInfo.key());
+	}
+
+	/*
+	 * Forgets the search results, which are only valid while the wraps of previous lines are unchanged.
+	 */
+	void clearWrapSearch() {
+		if (this.wrapSearchResults.size() > 0)
+			this.wrapSearchResults = new HashtableOfLong();
+		this.lineSearchStates = 0;
+		this.greedySearch = false;
 	}
 
 	WrapResult findWrapsCached(final int startTokenIndex, final int indent) {
-		this.wrapInfoTemp.wrapTokenIndex = startTokenIndex;
-		this.wrapInfoTemp.indent = indent;
-		WrapResult wrapResult = this.wrapSearchResults.get(this.wrapInfoTemp);
+		WrapResult wrapResult = (WrapResult) this.wrapSearchResults.get(WrapInfo.key(startTokenIndex, indent));
 
 		// pre-existing result may be based on different wrapping of earlier tokens and therefore be wrong
 		WrapResult wr = wrapResult;
@@ -490,7 +522,7 @@ public class WrapExecutor {
 				cacheMissAllowed = false;
 				break;
 			}
-			wr = this.wrapSearchResults.get(wi);
+			wr = getWrapResult(wi);
 		}
 
 		if (wrapResult != null)
@@ -512,8 +544,8 @@ public class WrapExecutor {
 			if (wrapResult != null) {
 				token.setWrapped(false);
 				this.wrapSearchStack.pop();
-				this.wrapSearchResults.put(item, wrapResult);
-				assert wrapResult.nextWrap == null || this.wrapSearchResults.get(wrapResult.nextWrap) != null;
+				this.wrapSearchResults.put(item.key(), wrapResult);
+				assert wrapResult.nextWrap == null || getWrapResult(wrapResult.nextWrap) != null;
 				if (item.wrapTokenIndex == startTokenIndex && item.indent == indent)
 					break;
 			} else {
@@ -534,6 +566,11 @@ public class WrapExecutor {
 	 * Calls itself recursively to get results for wrapped sub-lines.
 	 */
 	private WrapResult findWraps(int wrapTokenIndex, int indent) {
+		this.searchStates++;
+		if (++this.lineSearchStates > SEARCH_BUDGET && !this.greedySearch) {
+			this.greedySearch = true;
+			this.greedyLines++;
+		}
 		final int lastIndex = this.lineAnalyzer.analyzeLine(wrapTokenIndex, indent);
 		final boolean nextLineWrapped = this.lineAnalyzer.isNextLineWrapped;
 		int lineOverflow = Math.max(0, this.lineAnalyzer.lineWidthExtent - this.options.page_width);
@@ -557,9 +594,12 @@ public class WrapExecutor {
 		boolean cacheMiss = false;
 
 		if (!wrapRequired && activeTopPriorityWrap < 0
-				&& (!this.options.join_wrapped_lines || !this.options.wrap_outer_expressions_when_nested)) {
+				&& (this.greedySearch || !this.options.join_wrapped_lines || !this.options.wrap_outer_expressions_when_nested)) {
 			return new WrapResult(bestTotalPenalty, bestExtraPenalty, null);
 		}
+		if (this.greedySearch)
+			return findWrapGreedily(wrapTokenIndex, indent, lastIndex, firstPotentialWrap, activeTopPriorityWrap,
+					bestTotalPenalty, bestExtraPenalty, extraLines);
 
 		// optimization: if there's a possible wrap at depth lower than line start, ignore the rest
 		int depthLimit = Integer.MAX_VALUE;
@@ -634,6 +674,37 @@ public class WrapExecutor {
 				bestNextWrap == -1 ? null : new WrapInfo(bestNextWrap, bestIndent));
 	}
 
+	/**
+	 * Wraps the line at the last position that makes it fit in the page width, or at the first potential wrap
+	 * if there's none, so that only one wrap is searched for each line.
+	 */
+	private WrapResult findWrapGreedily(int wrapTokenIndex, int indent, int lastIndex, int firstPotentialWrap,
+			int activeTopPriorityWrap, double noWrapPenalty, int noWrapExtraPenalty, int extraLines) {
+		int wrapIndex = -1;
+		int lineOverflow = 0;
+		for (int i = lastIndex; firstPotentialWrap >= 0 && i >= firstPotentialWrap; i--) {
+			if (i <= wrapTokenIndex || !this.tm.get(i).isWrappable()
+					|| (activeTopPriorityWrap >= 0 && i != activeTopPriorityWrap) || !isWrapInsideFormatRegion(i))
+				continue;
+			wrapIndex = i;
+			int position = this.tm.getPositionInLine(i - 1);
+			position += this.tm.getLength(this.tm.get(i - 1), position);
+			lineOverflow = Math.max(0, position - this.options.page_width);
+			if (lineOverflow == 0)
+				break;
+		}
+		if (wrapIndex < 0)
+			return new WrapResult(noWrapPenalty, noWrapExtraPenalty, null);
+
+		int nextWrapIndent = getWrapIndent(this.tm.get(wrapIndex));
+		WrapResult nextWrapResult = findWrapsCached(wrapIndex, nextWrapIndent);
+		if (nextWrapResult == null)
+			return null; // cache miss, need to find wraps later in main stack processing
+		double penalty = getWrapPenalty(wrapTokenIndex, indent, wrapIndex, nextWrapIndent, nextWrapResult);
+		return new WrapResult(penalty, nextWrapResult.extraPenalty + extraLines + lineOverflow,
+				new WrapInfo(wrapIndex, nextWrapIndent));
+	}
+
 	private double getWrapPenalty(int lineStartIndex, int lineIndent, int wrapIndex, int wrapIndent,
 			WrapResult wrapResult) {
 		WrapPolicy wrapPolicy = null;
@@ -693,7 +764,7 @@ public class WrapExecutor {
 			if (nextPolicy.structureDepth <= wrapPolicy.structureDepth)
 				break;
 			penaltyDiff = Math.max(penaltyDiff, getPenalty(nextPolicy));
-			nextWrap = this.wrapSearchResults.get(nextWrap).nextWrap;
+			nextWrap = getWrapResult(nextWrap).nextWrap;
 		}
 
 		return penalty + wrapResult.penalty;
@@ -1486,7 +1486,8 @@ public class WrapPreparator extends ASTVisitor {
 				isNLSTagInLine = true;
 			}
 			List<Token> structure = token.getInternalStructure();
-			if (token.isComment() && structure != null && !structure.isEmpty() && !isNLSTagInLine) {
+			if (token.isComment() && structure != null && !structure.isEmpty() && !isNLSTagInLine
+					&& this.tm.isInFormatScope(token)) {
 				int startPosition = this.tm.getPositionInLine(i);
 				if (token.tokenType == TokenNameCOMMENT_LINE) {
 					commentWrapper.wrapLineComment(token, startPosition);
@@ -145,8 +145,12 @@ public boolean existsUsingJarTypeCache() {
 		}
 		try {
 			info = getJarBinaryTypeInfo();
+			if (JavaModelCache.COMPACT_JAR_TYPES && info instanceof ClassFileReader reader) {
+				// don't keep the class file bytes nor duplicated names in the jar type cache
+				reader.compact(DeduplicationUtil::intern);
+			}
 		} catch (CoreException | IOException | ClassFormatException e) {
-			// leave info null
+			info = null;
 		}
 		manager.putJarTypeInfo(type, info == null ? JavaModelCache.NON_EXISTING_JAR_TYPE_INFO : info);
 		return info != null;
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+import org.eclipse.jdt.internal.core.search.matching.TypeDeclarationPattern;
+
+/**
+ * Remembers the types found by the last completion on a type name, so that the next completion
+ * on a longer name (e.g. after one more character was typed in the same editor) is answered by
+ * filtering these types instead of querying the indexes again.
+ * <p>
+ * The types are forgotten as soon as the Java model changes, except for the changes of the
+ * compilation unit being completed since its types are never part of the answer. They are only
+ * softly referenced, so that they are also forgotten when memory is short.
+ * </p>
+ */
+final class CompletionTypesCache implements IElementChangedListener {
+
+	static final boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.disable_completion_types_cache"); //$NON-NLS-1$
+
+	private static final CompletionTypesCache INSTANCE = new CompletionTypesCache();
+
+	record FoundType(char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, int modifiers, AccessRestriction access) {
+	}
+
+	private static final class Entry {
+		final JavaProject project;
+		final boolean excludeTestCode;
+		final org.eclipse.jdt.core.ICompilationUnit[] workingCopies;
+		final IJavaElement unitToSkip;
+		final char[] qualification;
+		final char[] simpleName;
+		final boolean findMembers;
+		final int matchRule;
+		final int searchFor;
+		final List<FoundType> types;
+
+		Entry(JavaProject project, boolean excludeTestCode, org.eclipse.jdt.core.ICompilationUnit[] workingCopies, IJavaElement unitToSkip,
+				char[] qualification, char[] simpleName, boolean findMembers, int matchRule, int searchFor, List<FoundType> types) {
+			this.project = project;
+			this.excludeTestCode = excludeTestCode;
+			this.workingCopies = workingCopies;
+			this.unitToSkip = unitToSkip;
+			this.qualification = qualification;
+			this.simpleName = simpleName;
+			this.findMembers = findMembers;
+			this.matchRule = matchRule;
+			this.searchFor = searchFor;
+			this.types = types;
+		}
+	}
+
+	private volatile SoftReference<Entry> entry;
+	private volatile int changes;
+	private boolean listening;
+
+	private CompletionTypesCache() {
+		// use getInstance()
+	}
+
+	static CompletionTypesCache getInstance() {
+		return INSTANCE;
+	}
+
+	/*
+	 * Returns the number of changes of the Java model seen so far, to be given back to put(...).
+	 */
+	int getChanges() {
+		return this.changes;
+	}
+
+	/*
+	 * Returns the types matching the given query if the types found by the last completion contain them all,
+	 * or null if the indexes must be queried.
+	 */
+	List<FoundType> get(JavaProject project, boolean excludeTestCode, org.eclipse.jdt.core.ICompilationUnit[] workingCopies, IJavaElement unitToSkip,
+			char[] qualification, char[] simpleName, boolean findMembers, int matchRule, int searchFor) {
+		Entry last = getEntry();
+		if (last == null
+				|| !last.project.equals(project)
+				|| last.excludeTestCode != excludeTestCode
+				|| !Arrays.equals(last.workingCopies, workingCopies)
+				|| !Objects.equals(last.unitToSkip, unitToSkip)
+				|| !CharOperation.equals(last.qualification, qualification)
+				|| last.findMembers != findMembers
+				|| last.matchRule != matchRule
+				|| last.searchFor != searchFor)
+			return null;
+		// a longer name matches a subset of the types matched by a shorter one, except when matching subwords
+		// or camel case parts of the same count (a longer name may have more parts)
+		if ((matchRule & (SearchPattern.R_SUBWORD_MATCH | SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH)) != 0
+				|| !CharOperation.prefixEquals(last.simpleName, simpleName))
+			return null;
+		int validatedRule = SearchPattern.validateMatchRule(new String(simpleName), matchRule);
+		if (validatedRule == -1)
+			return null;
+
+		TypeDeclarationPattern pattern = new TypeDeclarationPattern(qualification, null, simpleName, IIndexConstants.TYPE_SUFFIX, validatedRule);
+		List<FoundType> types = new ArrayList<>();
+		for (FoundType type : last.types) {
+			if (pattern.matchesName(pattern.simpleName, type.simpleTypeName()))
+				types.add(type);
+		}
+		int currentChanges = this.changes;
+		put(project, excludeTestCode, workingCopies, unitToSkip, qualification, simpleName, findMembers, matchRule, searchFor, types, currentChanges);
+		return types;
+	}
+
+	/*
+	 * Remembers the types found by a completion, unless the Java model changed since the given number of changes was read.
+	 */
+	void put(JavaProject project, boolean excludeTestCode, org.eclipse.jdt.core.ICompilationUnit[] workingCopies, IJavaElement unitToSkip,
+			char[] qualification, char[] simpleName, boolean findMembers, int matchRule, int searchFor, List<FoundType> types, int changesBefore) {
+		synchronized (this) {
+			if (!this.listening) {
+				this.listening = true;
+				JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+			if (this.changes != changesBefore)
+				return;
+			this.entry = new SoftReference<>(new Entry(project, excludeTestCode, workingCopies, unitToSkip, qualification, simpleName, findMembers, matchRule, searchFor, types));
+		}
+	}
+
+	private Entry getEntry() {
+		SoftReference<Entry> reference = this.entry;
+		return reference == null ? null : reference.get();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		Entry last = getEntry();
+		if (last != null && concernsOnly(event.getDelta(), last.unitToSkip))
+			return;
+		synchronized (this) {
+			this.changes++;
+			this.entry = null;
+		}
+	}
+
+	private static boolean concernsOnly(IJavaElementDelta delta, IJavaElement unit) {
+		if (unit != null && unit.equals(delta.getElement())) {
+			// the types are forgotten once the unit is no longer edited
+			return delta.getKind() == IJavaElementDelta.CHANGED && (delta.getFlags() & IJavaElementDelta.F_PRIMARY_WORKING_COPY) == 0;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)
+			return false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!concernsOnly(child, unit))
+				return false;
+		}
+		return true;
+	}
+}
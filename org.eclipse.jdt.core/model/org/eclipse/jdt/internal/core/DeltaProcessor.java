@@ -41,6 +41,7 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
+import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
 import org.eclipse.jdt.internal.compiler.env.IElementInfo;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
@@ -289,6 +290,14 @@ public class DeltaProcessor {
 	 */
 	private SourceElementParser sourceElementParserCache;
 
+	/*
+	 * Compilation units of the project being visited that need to be (re)indexed.
+	 * They are indexed by a single job once the project has been visited (see flushSourcesToIndex())
+	 */
+	private final List<IFile> sourcesToIndex = new ArrayList<>();
+	private IPath sourcesToIndexContainer;
+	private SourceElementParser sourcesToIndexParser;
+
 	public DeltaProcessor(DeltaProcessingState state, JavaModelManager manager) {
 		this.state = state;
 		this.manager = manager;
@@ -308,6 +317,21 @@ public class DeltaProcessor {
 			addDependentProjects(dependent, projectDependencies, result);
 		}
 	}
+	/*
+	 * Forgets the binary types decorated with external annotations by the given project and its dependents,
+	 * for the projects that look for external annotations in all the locations of their classpath.
+	 */
+	private void resetBinaryTypeAnswers(IJavaProject project) {
+		Set<IJavaElement> projects = new HashSet<>();
+		projects.add(project);
+		addDependentProjects(project, this.state.projectDependencies, projects);
+		for (IJavaElement element : projects) {
+			JavaProject javaProject = (JavaProject) element;
+			if (JavaCore.ENABLED.equals(javaProject.getOption(JavaCore.CORE_JAVA_BUILD_EXTERNAL_ANNOTATIONS_FROM_ALL_LOCATIONS, true))) {
+				javaProject.resetBinaryTypeAnswers();
+			}
+		}
+	}
 	/*
 	 * Adds the given child handle to its parent's cache of children.
 	 */
@@ -1791,6 +1815,13 @@ public class DeltaProcessor {
 	 * </ul>
 	 */
 	private void nonJavaResourcesChanged(Openable element, IResourceDelta delta) 	throws JavaModelException {
+		if (delta.getResource().getName().endsWith(ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX)) {
+			IJavaProject project = element.getJavaProject();
+			if (project != null) {
+				// forget the binary types decorated with the previous external annotations
+				resetBinaryTypeAnswers(project);
+			}
+		}
 		// reset non-java resources if element was open
 		if (element.isOpen()) {
 			IElementInfo info = element.getElementInfo();
@@ -1988,6 +2019,7 @@ public class DeltaProcessor {
 
 			return this.currentDelta;
 		} finally {
+			flushSourcesToIndex();
 			this.currentDelta = null;
 		}
 	}
@@ -2304,7 +2336,8 @@ public class DeltaProcessor {
 		// process current delta
 		boolean processChildren = true;
 		if (res instanceof IProject) {
-			// reset source element parser cache
+			// index sources of the previous project and reset source element parser cache
+			flushSourcesToIndex();
 			this.sourceElementParserCache = null;
 
 			processChildren =
@@ -2848,13 +2881,13 @@ public class DeltaProcessor {
 						if ((flags & IResourceDelta.CONTENT) == 0 && (flags & IResourceDelta.ENCODING) == 0) {
 							if (hasRemovedJdtErrorMarker(delta)) {
 								// schedule re-indexing of the file when JDT error markers get removed
-								indexManager.addSource(file, file.getProject().getFullPath(), getSourceElementParser(element));
+								addSourceToIndex(file, element);
 							}
 							break;
 						}
 						// $FALL-THROUGH$
 					case IResourceDelta.ADDED :
-						indexManager.addSource(file, file.getProject().getFullPath(), getSourceElementParser(element));
+						addSourceToIndex(file, element);
 						// Clean file from secondary types cache but do not update indexing secondary type cache as it will be updated through indexing itself
 						this.manager.secondaryTypesRemoving(file, false);
 						break;
@@ -2866,6 +2899,32 @@ public class DeltaProcessor {
 				}
 		}
 	}
+	/*
+	 * Records the given compilation unit to be indexed with the other compilation units of its project.
+	 */
+	private void addSourceToIndex(IFile file, Openable element) {
+		IPath containerPath = file.getProject().getFullPath();
+		if (!containerPath.equals(this.sourcesToIndexContainer)) {
+			flushSourcesToIndex();
+			this.sourcesToIndexContainer = containerPath;
+			this.sourcesToIndexParser = getSourceElementParser(element);
+		}
+		this.sourcesToIndex.add(file);
+	}
+	/*
+	 * Requests the indexing of the recorded compilation units as one job per container.
+	 */
+	private void flushSourcesToIndex() {
+		if (this.sourcesToIndex.isEmpty())
+			return;
+		IndexManager indexManager = this.manager.indexManager;
+		if (indexManager != null) {
+			indexManager.addSources(new ArrayList<>(this.sourcesToIndex), this.sourcesToIndexContainer, this.sourcesToIndexParser);
+		}
+		this.sourcesToIndex.clear();
+		this.sourcesToIndexContainer = null;
+		this.sourcesToIndexParser = null;
+	}
 	/*
 	 * Update Java Model given some delta
 	 */
@@ -17,6 +17,7 @@
 package org.eclipse.jdt.internal.core;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -25,7 +26,7 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.internal.compiler.env.IBinaryInfo;
 import org.eclipse.jdt.internal.compiler.env.IElementInfo;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
-import org.eclipse.jdt.internal.core.util.LRUCache;
+import org.eclipse.jdt.internal.core.util.ConcurrentLRUCache;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
@@ -41,6 +42,13 @@ public class JavaModelCache {
 
 	public static final String RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
+	public static final String COMPACT_JAR_TYPES_PROPERTY = "org.eclipse.jdt.core.javamodelcache.compactjartypes"; //$NON-NLS-1$
+
+	/*
+	 * Whether the binary types kept in the jar type cache should release their class file bytes
+	 * and share their names and signatures.
+	 */
+	static final boolean COMPACT_JAR_TYPES = Boolean.getBoolean(COMPACT_JAR_TYPES_PROPERTY);
 
 	public static final IBinaryInfo NON_EXISTING_JAR_TYPE_INFO = new IBinaryInfo() {/*empty marker instance only*/};
 
@@ -82,8 +90,17 @@ public class JavaModelCache {
 	/**
 	 * Cache of open binary type (inside a jar) that have a non-open parent
 	 * Values are either instance of IBinaryType or Object (see {@link #NON_EXISTING_JAR_TYPE_INFO})
+	 * This cache is thread-safe and can be read without holding the JavaModelManager lock
+	 * (see {@link #getJarTypeInfo(IJavaElement)}).
+	 */
+	protected volatile ConcurrentLRUCache<IJavaElement, IElementInfo> jarTypeCache;
+
+	/**
+	 * Number of {@link JavaModelManager#getInfo(IJavaElement)} calls answered from the jar type cache
+	 * without the JavaModelManager lock, and number of calls that had to take the lock
 	 */
-	protected LRUCache<IJavaElement, IElementInfo> jarTypeCache;
+	final LongAdder lockFreeLookups = new LongAdder();
+	final LongAdder lockedLookups = new LongAdder();
 
 public JavaModelCache() {
 	double openableRatio = getOpenableRatio();
@@ -183,6 +200,26 @@ public IJavaElement getExistingElement(IJavaElement element) {
 	}
 }
 
+/**
+ *  Returns the info cached for the given binary type in the jar type cache, or <code>null</code> if none.
+ *  Unlike {@link #getInfo(IJavaElement)}, this method can be called without holding the JavaModelManager lock.
+ */
+protected IElementInfo getJarTypeInfo(IJavaElement type) {
+	return this.jarTypeCache.get(type);
+}
+
+/**
+ *  Returns the info for the given type, like {@link #getInfo(IJavaElement)}, after {@link #getJarTypeInfo(IJavaElement)}
+ *  answered <code>null</code> for it. The jar type cache is only peeked at again (the type may have been added since),
+ *  so that a single lookup is counted as a single miss.
+ */
+protected IElementInfo getInfoAfterJarTypeMiss(IJavaElement type) {
+	IElementInfo result = this.jarTypeCache.peek(type);
+	if (result != null)
+		return result;
+	return this.childrenCache.get(type);
+}
+
 /**
  *  Returns the info for this element without
  *  disturbing the cache ordering.
@@ -309,11 +346,23 @@ protected void removeInfo(JavaElement element) {
 }
 protected void resetJarTypeCache() {
 	int jarTypeCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * getJarTypeRatio());
-	this.jarTypeCache = new LRUCache<>(jarTypeCacheSize);
+	this.jarTypeCache = new ConcurrentLRUCache<>(jarTypeCacheSize);
 }
 protected void removeFromJarTypeCache(BinaryType type) {
 	this.jarTypeCache.flush(type);
 }
+/**
+ *  Returns the number of info lookups answered from the jar type cache without the JavaModelManager lock.
+ */
+public long getLockFreeLookups() {
+	return this.lockFreeLookups.sum();
+}
+/**
+ *  Returns the number of info lookups that took the JavaModelManager lock.
+ */
+public long getLockedLookups() {
+	return this.lockedLookups.sum();
+}
 @Override
 public String toString() {
 	return toStringFillingRation(""); //$NON-NLS-1$
@@ -336,6 +385,12 @@ public String toStringFillingRation(String prefix) {
 	buffer.append(prefix);
 	buffer.append(this.jarTypeCache.toStringFillingRation("Jar type cache")); //$NON-NLS-1$
 	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append("Info lookups: "); //$NON-NLS-1$
+	buffer.append(getLockFreeLookups());
+	buffer.append(" without lock, "); //$NON-NLS-1$
+	buffer.append(getLockedLookups());
+	buffer.append(" with lock\n"); //$NON-NLS-1$
 	return buffer.toString();
 }
 }
@@ -71,6 +71,7 @@ import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.core.DeltaProcessor.RootInfo;
 import org.eclipse.jdt.internal.core.JavaProjectElementInfo.ProjectCache;
 import org.eclipse.jdt.internal.core.builder.JavaBuilder;
+import org.eclipse.jdt.internal.core.builder.State;
 import org.eclipse.jdt.internal.core.dom.SourceRangeVerifier;
 import org.eclipse.jdt.internal.core.dom.rewrite.RewriteEventStore;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
@@ -112,6 +113,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	private static final Integer SAVE_THREAD_COUNT = Integer.getInteger("org.eclipse.jdt.model_save_threads"); //$NON-NLS-1$
 	/** should the state.dat be gzip compressed? **/
 	private static final boolean SAVE_ZIPPED = !Boolean.getBoolean("org.eclipse.jdt.disable_gzip"); //$NON-NLS-1$
+	/**
+	 * should the secondary types cache be initialized from the last built states instead of the indexes?
+	 * A built state misses the changes made since the last build, so this is only enabled on request.
+	 **/
+	public static boolean SECONDARY_TYPES_FROM_STATE = Boolean.getBoolean("org.eclipse.jdt.enable_secondary_types_from_state"); //$NON-NLS-1$
 	private static ServiceRegistration<DebugOptionsListener> DEBUG_REGISTRATION;
 	private static final String NON_CHAINING_JARS_CACHE = "nonChainingJarsCache"; //$NON-NLS-1$
 	private static final String EXTERNAL_FILES_CACHE = "externalFilesCache";  //$NON-NLS-1$
@@ -322,6 +328,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	private static final String FORMATTER_DEBUG = JavaCore.PLUGIN_ID + "/debug/formatter" ; //$NON-NLS-1$
 
 	public static final String COMPLETION_PERF = JavaCore.PLUGIN_ID + "/perf/completion" ; //$NON-NLS-1$
+	public static final String COMPLETION_FINDER_PERF = JavaCore.PLUGIN_ID + "/perf/completionfinder" ; //$NON-NLS-1$
 	public static final String SELECTION_PERF = JavaCore.PLUGIN_ID + "/perf/selection" ; //$NON-NLS-1$
 	public static final String DELTA_LISTENER_PERF = JavaCore.PLUGIN_ID + "/perf/javadeltalistener" ; //$NON-NLS-1$
 	public static final String VARIABLE_INITIALIZER_PERF = JavaCore.PLUGIN_ID + "/perf/variableinitializer" ; //$NON-NLS-1$
@@ -1949,6 +1956,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				// configure performance options
 				if(PerformanceStats.ENABLED) {
 					CompletionEngine.PERF = PerformanceStats.isEnabled(COMPLETION_PERF);
+					CompletionEngine.PERF_FINDERS = PerformanceStats.isEnabled(COMPLETION_FINDER_PERF);
 					SelectionEngine.PERF = PerformanceStats.isEnabled(SELECTION_PERF);
 					DeltaProcessor.PERF = PerformanceStats.isEnabled(DELTA_LISTENER_PERF);
 					JavaModelManager.PERF_VARIABLE_INITIALIZER = PerformanceStats.isEnabled(VARIABLE_INITIALIZER_PERF);
@@ -2210,7 +2218,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	/**
 	 *  Returns the info for the element.
 	 */
-	public synchronized IElementInfo getInfo(IJavaElement element) {
+	public IElementInfo getInfo(IJavaElement element) {
 		HashMap<IJavaElement, IElementInfo> tempCache = this.temporaryCache.get();
 		if (tempCache != null) {
 			IElementInfo result = tempCache.get(element);
@@ -2218,7 +2226,27 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.getInfo(element);
+		if (element.getElementType() == IJavaElement.TYPE) {
+			// binary types of jars are looked up by many threads (e.g. NameLookup during search or reconcile):
+			// read them without contending on the model lock
+			JavaModelCache modelCache = this.cache;
+			if (modelCache != null && modelCache.jarTypeCache != null) {
+				IElementInfo result = modelCache.getJarTypeInfo(element);
+				if (result != null) {
+					modelCache.lockFreeLookups.increment();
+					return result;
+				}
+				synchronized (this) {
+					this.cache.lockedLookups.increment();
+					// the cache may have been reset meanwhile
+					return this.cache == modelCache ? modelCache.getInfoAfterJarTypeMiss(element) : this.cache.getInfo(element);
+				}
+			}
+		}
+		synchronized (this) {
+			this.cache.lockedLookups.increment();
+			return this.cache.getInfo(element);
+		}
 	}
 
 	/**
@@ -5063,8 +5091,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			System.arraycopy(allSourceFolders, 0, allSourceFolders = new IPackageFragmentRoot[size], 0, size);
 		}
 
-		// Search all secondary types on scope
-		new BasicSearchEngine().searchAllSecondaryTypeNames(allSourceFolders, nameRequestor, waitForIndexes, monitor);
+		// Use the secondary types recorded by the builder if requested and all source folders were built, search all secondary types on scope otherwise
+		if (!SECONDARY_TYPES_FROM_STATE || !secondaryTypesFromBuiltStates(allSourceFolders, nameRequestor)) {
+			secondaryTypesSearch.clear();
+			new BasicSearchEngine().searchAllSecondaryTypeNames(allSourceFolders, nameRequestor, waitForIndexes, monitor);
+		}
 
 		// Build types from paths
 		final Hashtable<String, Map<String, IType>> secondaryTypes = new Hashtable<>(secondaryTypesSearch.size());
@@ -5100,6 +5131,50 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/*
+	 * Report the secondary types recorded in the last built states of the projects owning the given source folders.
+	 * Returns false without waiting for the indexes if one of these projects has no built state.
+	 */
+	private static boolean secondaryTypesFromBuiltStates(IPackageFragmentRoot[] sourceFolders, IRestrictedAccessTypeRequestor nameRequestor) {
+		JavaModelManager manager = getJavaModelManager();
+		Map<IProject, State> states = new HashMap<>();
+		Map<IProject, List<String>> folderPrefixes = new HashMap<>();
+		for (IPackageFragmentRoot root : sourceFolders) {
+			IResource folder = root.getResource();
+			if (folder == null)
+				continue;
+			IProject project = folder.getProject();
+			if (!states.containsKey(project)) {
+				Object state = manager.getLastBuiltState(project, null);
+				if (!(state instanceof State)) {
+					if (VERBOSE || BasicSearchEngine.VERBOSE) {
+						trace("	-> no built state for " + project.getName() + ", secondary types will be searched in indexes"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					return false;
+				}
+				states.put(project, (State) state);
+			}
+			String folderPrefix = folder.getType() == IResource.PROJECT ? "" : folder.getProjectRelativePath().addTrailingSeparator().toString(); //$NON-NLS-1$
+			folderPrefixes.computeIfAbsent(project, p -> new ArrayList<>()).add(folderPrefix);
+		}
+		for (Entry<IProject, State> projectEntry : states.entrySet()) {
+			IProject project = projectEntry.getKey();
+			List<String> prefixes = folderPrefixes.get(project);
+			for (Entry<String, String> entry : projectEntry.getValue().getSecondaryTypeLocators().entrySet()) {
+				String typeLocator = entry.getValue();
+				if (prefixes.stream().noneMatch(typeLocator::startsWith))
+					continue; // not defined in one of the given source folders
+				String qualifiedTypeName = entry.getKey();
+				int lastSlash = qualifiedTypeName.lastIndexOf('/');
+				char[] packageName = lastSlash == -1 ? CharOperation.NO_CHAR : qualifiedTypeName.substring(0, lastSlash).replace('/', '.').toCharArray();
+				char[] simpleTypeName = qualifiedTypeName.substring(lastSlash + 1).toCharArray();
+				String path = project.getFile(typeLocator).getFullPath().toString();
+				nameRequestor.acceptType(0, packageName, simpleTypeName, null, path, null);
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Remove from secondary types cache all types belonging to a given file.
 	 * Clean secondary types cache built while indexing if requested.
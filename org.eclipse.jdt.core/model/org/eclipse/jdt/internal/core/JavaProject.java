@@ -3055,6 +3055,16 @@ public class JavaProject
 		}
 	}
 
+	/*
+	 * Resets the binary types of this project's caches that were decorated with external annotations
+	 */
+	public void resetBinaryTypeAnswers() {
+		JavaProjectElementInfo info = (JavaProjectElementInfo) JavaModelManager.getJavaModelManager().peekAtInfo(this);
+		if (info != null){
+			info.resetBinaryTypeAnswers();
+		}
+	}
+
 	public ClasspathChange resetResolvedClasspath() {
 		try {
 			return getPerProjectInfo().resetResolvedClasspath();
@@ -26,7 +26,9 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.core.DeltaProcessor.RootInfo;
+import org.eclipse.jdt.internal.core.util.ConcurrentLRUCache;
 import org.eclipse.jdt.internal.core.util.HashSetOfArray;
 import org.eclipse.jdt.internal.core.util.HashtableOfArrayToObject;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -75,6 +77,19 @@ class JavaProjectElementInfo extends OpenableElementInfo {
 		 * (so as to be able to figure inclusion/exclusion rules)
 		 */
 		public Map<IPackageFragmentRoot, IClasspathEntry> rootToResolvedEntries;
+
+		/*
+		 * A cache of the binary types that were decorated with external annotations found on the classpath
+		 * of this project, so that consecutive reconciles don't look for the .eea files again
+		 * (a map from BinaryType to the info it was read from and the decorated info answered to the compiler).
+		 * The decorated infos hold the infos they were read from, so the cache is bounded like the jar type cache.
+		 */
+		public final ConcurrentLRUCache<BinaryType, BinaryTypeAnswer> binaryTypeAnswers = new ConcurrentLRUCache<>(BINARY_TYPE_ANSWERS_SIZE);
+	}
+
+	static final int BINARY_TYPE_ANSWERS_SIZE = 1_000;
+
+	record BinaryTypeAnswer(IBinaryType info, IBinaryType answer) {
 	}
 
 	ProjectCache projectCache;
@@ -375,4 +390,18 @@ class JavaProjectElementInfo extends OpenableElementInfo {
 		this.projectCache = null;
 		this.mainProjectCache = null;
 	}
+
+	/*
+	 * Forget the binary types decorated with external annotations, keeping the other caches
+	 */
+	void resetBinaryTypeAnswers() {
+		ProjectCache cache = this.projectCache;
+		if (cache != null) {
+			cache.binaryTypeAnswers.flush();
+		}
+		cache = this.mainProjectCache;
+		if (cache != null) {
+			cache.binaryTypeAnswers.flush();
+		}
+	}
 }
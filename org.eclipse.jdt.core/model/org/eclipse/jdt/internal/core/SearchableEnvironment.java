@@ -55,12 +55,15 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.core.CompletionTypesCache.FoundType;
+import org.eclipse.jdt.internal.core.JavaProjectElementInfo.BinaryTypeAnswer;
 import org.eclipse.jdt.internal.core.NameLookup.Answer;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.IRestrictedAccessConstructorRequestor;
 import org.eclipse.jdt.internal.core.search.IRestrictedAccessTypeRequestor;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
+import org.eclipse.jdt.internal.core.util.ConcurrentLRUCache;
 import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -71,6 +74,8 @@ import org.eclipse.jdt.internal.core.util.Util;
 public class SearchableEnvironment
 	implements IModuleAwareNameEnvironment, IJavaSearchConstants {
 
+	private static final boolean REUSE_BINARY_TYPE_ANSWERS = !Boolean.getBoolean("org.eclipse.jdt.disable_binary_type_answers_cache"); //$NON-NLS-1$
+
 	public NameLookup nameLookup;
 	protected ICompilationUnit unitToSkip;
 	protected org.eclipse.jdt.core.ICompilationUnit[] workingCopies;
@@ -92,6 +97,8 @@ public class SearchableEnvironment
 
 	private List<IPackageFragmentRoot> unnamedModulePackageFragmentRoots;
 
+	private ConcurrentLRUCache<BinaryType, BinaryTypeAnswer> binaryTypeAnswers;
+
 	@Deprecated
 	public SearchableEnvironment(JavaProject project, org.eclipse.jdt.core.ICompilationUnit[] workingCopies) throws JavaModelException {
 		this(project, workingCopies, false);
@@ -252,6 +259,14 @@ public class SearchableEnvironment
 			if (iBinaryType.getExternalAnnotationStatus() == ExternalAnnotationStatus.NOT_EEA_CONFIGURED
 					&& JavaCore.ENABLED.equals(this.project.getOption(JavaCore.CORE_JAVA_BUILD_EXTERNAL_ANNOTATIONS_FROM_ALL_LOCATIONS, true)))
 			{
+				ConcurrentLRUCache<BinaryType, BinaryTypeAnswer> previousAnswers = getBinaryTypeAnswers();
+				if (previousAnswers != null) {
+					BinaryTypeAnswer previousAnswer = previousAnswers.get(binaryType);
+					if (previousAnswer != null && previousAnswer.info() == iBinaryType) {
+						return new NameEnvironmentAnswer(previousAnswer.answer(), lookupAnswer.restriction, moduleName);
+					}
+				}
+				IBinaryType info = iBinaryType;
 				String soughtName = typeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX;
 				boolean isAnnotated = false;
 				IPackageFragment[] packageFragments = this.nameLookup.findPackageFragments(packageName, false);
@@ -282,6 +297,9 @@ public class SearchableEnvironment
 						// project is configured to globally consider external annotations, but no .eea found => decorate in order to answer NO_EEA_FILE:
 						iBinaryType = new ExternalAnnotationDecorator(iBinaryType, null);
 					}
+					if (previousAnswers != null) {
+						previousAnswers.put(binaryType, new BinaryTypeAnswer(info, iBinaryType));
+					}
 				}
 			}
 			return new NameEnvironmentAnswer(iBinaryType, lookupAnswer.restriction, moduleName);
@@ -291,6 +309,23 @@ public class SearchableEnvironment
 		return null;
 	}
 
+	/*
+	 * Returns the binary types answered by previous environments on this project, or null if they should not be reused.
+	 * The cache is dropped when the project caches are reset, e.g. when the classpath changes, and flushed when an .eea file changes.
+	 */
+	private ConcurrentLRUCache<BinaryType, BinaryTypeAnswer> getBinaryTypeAnswers() {
+		if (!REUSE_BINARY_TYPE_ANSWERS)
+			return null;
+		if (this.binaryTypeAnswers == null) {
+			try {
+				this.binaryTypeAnswers = this.project.getProjectCache(this.excludeTestCode).binaryTypeAnswers;
+			} catch (JavaModelException e) {
+				return null;
+			}
+		}
+		return this.binaryTypeAnswers;
+	}
+
 	/**
 	 * Find the modules that start with the given prefix.
 	 * A valid prefix is a qualified name separated by periods
@@ -709,6 +744,22 @@ public class SearchableEnvironment
 					// implements interface method
 				}
 			};
+			// reuse the types found by the previous completion if the name was only completed further since
+			CompletionTypesCache typesCache = monitor != null && CompletionTypesCache.ENABLED ? CompletionTypesCache.getInstance() : null;
+			IJavaElement unit = (IJavaElement) this.unitToSkip;
+			if (typesCache != null) {
+				List<FoundType> types = typesCache.get(this.project, this.excludeTestCode, this.workingCopies, unit,
+						qualification, simpleName, findMembers, matchRule, searchFor);
+				if (types != null) {
+					for (FoundType type : types) {
+						storage.acceptType(type.packageName(), type.simpleTypeName(), type.enclosingTypeNames(), type.modifiers(), type.access());
+					}
+					return;
+				}
+			}
+			int changesBefore = typesCache == null ? 0 : typesCache.getChanges();
+			List<FoundType> foundTypes = typesCache == null ? null : new ArrayList<>();
+
 			IRestrictedAccessTypeRequestor typeRequestor = new IRestrictedAccessTypeRequestor() {
 				@Override
 				public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, String path, AccessRestriction access) {
@@ -716,6 +767,8 @@ public class SearchableEnvironment
 						return;
 					if (!findMembers && enclosingTypeNames != null && enclosingTypeNames.length > 0)
 						return; // accept only top level types
+					if (foundTypes != null)
+						foundTypes.add(new FoundType(packageName, simpleTypeName, enclosingTypeNames, modifiers, access));
 					storage.acceptType(packageName, simpleTypeName, enclosingTypeNames, modifiers, access);
 				}
 			};
@@ -735,6 +788,10 @@ public class SearchableEnvironment
 						typeRequestor,
 						FORCE_IMMEDIATE_SEARCH,
 						progressMonitor);
+					if (typesCache != null) {
+						typesCache.put(this.project, this.excludeTestCode, this.workingCopies, unit,
+								qualification, simpleName, findMembers, matchRule, searchFor, foundTypes, changesBefore);
+					}
 				} else {
 					// indexes were not ready, give the indexing a chance to finish small jobs by sleeping 100ms...
 					try {
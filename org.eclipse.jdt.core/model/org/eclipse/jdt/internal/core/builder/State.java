@@ -211,6 +211,33 @@ public boolean isKnownType(String qualifiedTypeName) {
 	return this.typeLocators.containsKey(qualifiedTypeName);
 }
 
+/**
+ * Returns the secondary types known by this state, i.e. the top level types whose name differs
+ * from the name of the compilation unit defining them.
+ *
+ * @return a map keyed by qualified type name "p1/p2/A", value is the project relative path
+ *         which defines this type "src1/p1/p2/B.java"
+ */
+public Map<String, String> getSecondaryTypeLocators() {
+	Map<String, String> result = new LinkedHashMap<>();
+	for (Entry<String, String> entry : this.typeLocators.entrySet()) {
+		String qualifiedTypeName = entry.getKey();
+		int start = qualifiedTypeName.lastIndexOf('/') + 1;
+		if (qualifiedTypeName.indexOf('$', start) != -1)
+			continue; // member or local type
+		String typeLocator = entry.getValue();
+		int fileStart = typeLocator.lastIndexOf('/') + 1;
+		int fileEnd = typeLocator.lastIndexOf('.');
+		if (fileEnd < fileStart)
+			fileEnd = typeLocator.length();
+		if (fileEnd - fileStart == qualifiedTypeName.length() - start
+				&& typeLocator.regionMatches(fileStart, qualifiedTypeName, start, fileEnd - fileStart))
+			continue; // main type of its compilation unit
+		result.put(qualifiedTypeName, typeLocator);
+	}
+	return result;
+}
+
 boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	String sourceFolderName = sourceFolder.getProjectRelativePath().addTrailingSeparator().toString();
 	for (String value : this.typeLocators.values()) {
@@ -425,6 +425,13 @@ public class ChangeCollector {
 		return existingFlags != newFlags;
 	}
 
+	/*
+	 * Returns the changes collected so far, keyed by the changed type, import container or import declaration.
+	 */
+	Map<IJavaElement, SimpleDelta> getChanges() {
+		return this.changes;
+	}
+
 	/*
 	 * Whether the hierarchy needs refresh according to the changes collected so far.
 	 */
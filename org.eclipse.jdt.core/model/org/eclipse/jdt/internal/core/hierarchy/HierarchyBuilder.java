@@ -146,6 +146,18 @@ public abstract class HierarchyBuilder {
 		IType superclassHandle,
 		IType[] superinterfaceHandles) {
 
+		connect(type.getModifiers(), typeHandle, superclassHandle, superinterfaceHandles);
+	}
+	/**
+	 * Connect the given type to its superclass and superinterfaces.
+	 * The kind of the type is given by its modifiers.
+	 */
+	protected void connect(
+		int modifiers,
+		IType typeHandle,
+		IType superclassHandle,
+		IType[] superinterfaceHandles) {
+
 		/*
 		 * Temporary workaround for 1G2O5WK: ITPJCORE:WINNT - NullPointerException when selecting "Show in Type Hierarchy" for a inner class
 		 */
@@ -171,7 +183,7 @@ public abstract class HierarchyBuilder {
 			}
 		}
 		// now do the caching
-		switch (TypeDeclaration.kind(type.getModifiers())) {
+		switch (TypeDeclaration.kind(modifiers)) {
 			case TypeDeclaration.CLASS_DECL :
 			case TypeDeclaration.ENUM_DECL :
 			case TypeDeclaration.RECORD_DECL :
@@ -194,7 +206,7 @@ public abstract class HierarchyBuilder {
 		this.hierarchy.cacheSuperInterfaces(typeHandle, superinterfaceHandles);
 
 		// record flags
-		this.hierarchy.cacheFlags(typeHandle, type.getModifiers());
+		this.hierarchy.cacheFlags(typeHandle, modifiers);
 	}
 	/**
 	 * Returns a handle for the given generic type or null if not found.
@@ -546,6 +546,7 @@ private static void legacySearchAllPossibleSubTypes(
 	}
 	SuperTypeReferencePattern pattern =
 		new SuperTypeReferencePattern(null, null, superRefKind, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+	pattern.groupIndexEntries = true; // each subtype found is queried in turn
 	MatchLocator.setFocus(pattern, type);
 	SubTypeSearchJob job = new SubTypeSearchJob(
 		pattern,
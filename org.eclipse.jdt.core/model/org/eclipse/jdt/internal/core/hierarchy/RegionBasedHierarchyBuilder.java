@@ -16,8 +16,16 @@ package org.eclipse.jdt.internal.core.hierarchy;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -29,11 +37,15 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.Openable;
+import org.eclipse.jdt.internal.core.Region;
 import org.eclipse.jdt.internal.core.SearchableEnvironment;
+import org.eclipse.jdt.internal.core.search.PatternSearchJob.ParallelSearchMonitor;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class RegionBasedHierarchyBuilder extends HierarchyBuilder {
 
+	public static int RESOLUTION_THREAD_COUNT = Integer.getInteger("org.eclipse.jdt.region_hierarchy_threads", 1).intValue(); //$NON-NLS-1$
+
 	public RegionBasedHierarchyBuilder(TypeHierarchy hierarchy)
 		throws JavaModelException {
 
@@ -70,6 +82,10 @@ private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IPro
 		int size = allOpenablesInRegion.size();
 		if (monitor != null) monitor.beginTask("", size * 2/* 1 for build binding, 1 for connect hierarchy*/); //$NON-NLS-1$
 		this.infoToHandle = new HashMap(size);
+		if (RESOLUTION_THREAD_COUNT > 1 && size > 1) {
+			resolveProjectsInParallel(allOpenablesInRegion, monitor);
+			return;
+		}
 		Iterator javaProjects = allOpenablesInRegion.entrySet().iterator();
 		while (javaProjects.hasNext()) {
 			Map.Entry entry = (Map.Entry) javaProjects.next();
@@ -92,6 +108,113 @@ private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IPro
 	}
 }
 
+/*
+ * Resolves the openables of each project of the region with a separate hierarchy resolver, several projects at a time,
+ * then connects the resolved types in the hierarchy in the order of the projects.
+ */
+private void resolveProjectsInParallel(HashMap allOpenablesInRegion, IProgressMonitor monitor) {
+	ParallelSearchMonitor parallelMonitor = new ParallelSearchMonitor(monitor == null ? new NullProgressMonitor() : monitor);
+	// see JavaModelManager#saving(ISaveContext) for why the common pool is not used
+	ForkJoinPool pool = new ForkJoinPool(RESOLUTION_THREAD_COUNT,
+			p -> new ForkJoinWorkerThread(p) {
+				// anonymous subclass to access protected constructor
+			}, null, false);
+	try {
+		List<Future<ProjectHierarchyBuilder>> resolutions = new ArrayList<>();
+		Iterator javaProjects = allOpenablesInRegion.entrySet().iterator();
+		while (javaProjects.hasNext()) {
+			Map.Entry entry = (Map.Entry) javaProjects.next();
+			JavaProject project = (JavaProject) entry.getKey();
+			ArrayList allOpenables = (ArrayList) entry.getValue();
+			Openable[] openables = new Openable[allOpenables.size()];
+			allOpenables.toArray(openables);
+			resolutions.add(pool.submit(() -> resolveProject(project, openables, parallelMonitor)));
+		}
+		for (Future<ProjectHierarchyBuilder> resolution : resolutions) {
+			ProjectHierarchyBuilder projectBuilder;
+			try {
+				projectBuilder = resolution.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new RuntimeException(e);
+			}
+			if (projectBuilder != null) {
+				projectBuilder.connectAll(this);
+			}
+			worked(monitor, 2);
+		}
+	} finally {
+		parallelMonitor.setCanceled(true); // stop the resolutions that were not connected
+		pool.shutdown();
+	}
+}
+/*
+ * Resolves the given openables of the given project, recording the connections of the resolved types.
+ * Returns null if the project doesn't exist.
+ */
+private ProjectHierarchyBuilder resolveProject(JavaProject project, Openable[] openables, IProgressMonitor cancelMonitor) {
+	if (cancelMonitor.isCanceled())
+		throw new OperationCanceledException();
+	RegionBasedTypeHierarchy projectHierarchy = new RegionBasedTypeHierarchy(new Region(), this.hierarchy.workingCopies, this.hierarchy.focusType, this.hierarchy.computeSubtypes);
+	projectHierarchy.project = this.hierarchy.javaProject(); // same lookup environment as a sequential resolution
+	projectHierarchy.progressMonitor = SubMonitor.convert(cancelMonitor);
+	ProjectHierarchyBuilder projectBuilder;
+	try {
+		projectBuilder = new ProjectHierarchyBuilder(projectHierarchy, project);
+	} catch (JavaModelException e) {
+		// project doesn't exit: ignore
+		return null;
+	}
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	try {
+		// the zip cache is per thread
+		manager.cacheZipFiles(projectBuilder);
+		projectBuilder.hierarchyResolver.resolve(openables, null, cancelMonitor);
+	} finally {
+		manager.flushZipFiles(projectBuilder);
+	}
+	return projectBuilder;
+}
+
+/*
+ * Resolves the openables of one project of a region, recording the connections of the resolved types
+ * instead of adding them to a hierarchy, so that they can be connected later in the hierarchy being built.
+ */
+private static final class ProjectHierarchyBuilder extends HierarchyBuilder {
+
+	private record Connection(int modifiers, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles) {
+	}
+
+	private final List<Connection> connections = new ArrayList<>();
+
+	ProjectHierarchyBuilder(TypeHierarchy hierarchy, JavaProject project) throws JavaModelException {
+		super(hierarchy);
+		this.nameLookup = project.newSearchableNameEnvironment(hierarchy.workingCopies).nameLookup;
+	}
+
+	@Override
+	public void build(boolean computeSubtypes) {
+		// the openables are resolved by the region based hierarchy builder
+	}
+
+	@Override
+	protected void connect(int modifiers, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles) {
+		this.connections.add(new Connection(modifiers, typeHandle, superclassHandle, superinterfaceHandles));
+	}
+
+	void connectAll(HierarchyBuilder builder) {
+		for (Connection connection : this.connections) {
+			builder.connect(connection.modifiers(), connection.typeHandle(), connection.superclassHandle(), connection.superinterfaceHandles());
+		}
+		builder.hierarchy.missingTypes.addAll(this.hierarchy.missingTypes);
+	}
+}
+
 	/**
 	 * Returns all of the openables defined in the region of this type hierarchy.
 	 * Returns a map from IJavaProject to ArrayList of Openable
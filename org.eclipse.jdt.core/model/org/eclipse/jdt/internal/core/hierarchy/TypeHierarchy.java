@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,6 +48,7 @@ import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.Openable;
 import org.eclipse.jdt.internal.core.PackageFragment;
 import org.eclipse.jdt.internal.core.Region;
+import org.eclipse.jdt.internal.core.SimpleDelta;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -150,6 +152,14 @@ public class TypeHierarchy implements ITypeHierarchy, IElementChangedListener {
 	 */
 	protected ChangeCollector changeCollector;
 
+	/*
+	 * Whether changes that are not collected by the change collector (e.g. classpath or class file changes)
+	 * affected this hierarchy since it was last computed
+	 */
+	protected boolean needsFullRefresh = true;
+
+	private static final boolean INCREMENTAL_REFRESH = !Boolean.getBoolean("org.eclipse.jdt.disable_incremental_type_hierarchy_refresh"); //$NON-NLS-1$
+
 /**
  * Creates an empty TypeHierarchy
  */
@@ -329,8 +339,14 @@ public boolean contains(IType type) {
  */
 @Override
 public void elementChanged(ElementChangedEvent event) {
-	// type hierarchy change has already been fired
-	if (this.needsRefresh) return;
+	if (this.needsRefresh) {
+		// type hierarchy change has already been fired,
+		// but keep collecting the changes as long as the next refresh can be incremental
+		if (!this.needsFullRefresh && this.changeCollector != null) {
+			isAffected(event.getDelta(), event.getType());
+		}
+		return;
+	}
 
 	if (isAffected(event.getDelta(), event.getType())) {
 		this.needsRefresh = true;
@@ -826,6 +842,15 @@ public synchronized boolean isAffected(IJavaElementDelta delta, int eventType) {
 	}
 	return false;
 }
+/*
+ * Records that the change that affects this hierarchy (if any) cannot be applied incrementally.
+ */
+private boolean requiresFullRefresh(boolean affected) {
+	if (affected) {
+		this.needsFullRefresh = true;
+	}
+	return affected;
+}
 /**
  * Returns true if any of the children of a project, package
  * fragment root, or package fragment have changed in a way that
@@ -851,7 +876,7 @@ private boolean isAffectedByJavaModel(IJavaElementDelta delta, IJavaElement elem
 	switch (delta.getKind()) {
 		case IJavaElementDelta.ADDED :
 		case IJavaElementDelta.REMOVED :
-			return element.equals(javaProject().getJavaModel());
+			return requiresFullRefresh(element.equals(javaProject().getJavaModel()));
 		case IJavaElementDelta.CHANGED :
 			return isAffectedByChildren(delta, eventType);
 	}
@@ -878,7 +903,7 @@ private boolean isAffectedByJavaProject(IJavaElementDelta delta, IJavaElement el
 				for (IClasspathEntry cpe : classpath) {
 					if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT
 							&& cpe.getPath().equals(element.getPath())) {
-						return true;
+						return requiresFullRefresh(true);
 					}
 				}
 				if (this.focusType != null) {
@@ -888,7 +913,7 @@ private boolean isAffectedByJavaProject(IJavaElementDelta delta, IJavaElement el
 					for (IClasspathEntry cpe : classpath) {
 						if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT
 								&& cpe.getPath().equals(hierarchyProject)) {
-							return true;
+							return requiresFullRefresh(true);
 						}
 					}
 				}
@@ -903,7 +928,7 @@ private boolean isAffectedByJavaProject(IJavaElementDelta delta, IJavaElement el
 			for (IJavaElement pkg : pkgs) {
 				IJavaProject javaProject = pkg.getJavaProject();
 				if (javaProject != null && javaProject.equals(element)) {
-					return true;
+					return requiresFullRefresh(true);
 				}
 			}
 			return false;
@@ -921,10 +946,10 @@ private boolean isAffectedByPackageFragment(IJavaElementDelta delta, PackageFrag
 		case IJavaElementDelta.ADDED :
 			// if the package fragment is in the projects being considered, this could
 			// introduce new types, changing the hierarchy
-			return this.projectRegion.contains(element);
+			return requiresFullRefresh(this.projectRegion.contains(element));
 		case IJavaElementDelta.REMOVED :
 			// is a change if the package fragment contains types in this hierarchy
-			return packageRegionContainsSamePackageFragment(element);
+			return requiresFullRefresh(packageRegionContainsSamePackageFragment(element));
 		case IJavaElementDelta.CHANGED :
 			// look at the files in the package fragment
 			return isAffectedByChildren(delta, eventType);
@@ -938,7 +963,7 @@ private boolean isAffectedByPackageFragment(IJavaElementDelta delta, PackageFrag
 private boolean isAffectedByPackageFragmentRoot(IJavaElementDelta delta, IJavaElement element, int eventType) {
 	switch (delta.getKind()) {
 		case IJavaElementDelta.ADDED :
-			return this.projectRegion.contains(element);
+			return requiresFullRefresh(this.projectRegion.contains(element));
 		case IJavaElementDelta.REMOVED :
 		case IJavaElementDelta.CHANGED :
 			int flags = delta.getFlags();
@@ -953,7 +978,7 @@ private boolean isAffectedByPackageFragmentRoot(IJavaElementDelta delta, IJavaEl
 						try {
 							IClasspathEntry entry = javaProject.getClasspathEntryFor(rootPath);
 							if (entry != null) {
-								return true;
+								return requiresFullRefresh(true);
 							}
 						} catch (JavaModelException e) {
 							// igmore this project
@@ -969,7 +994,7 @@ private boolean isAffectedByPackageFragmentRoot(IJavaElementDelta delta, IJavaEl
 				IJavaElement[] pkgs = this.packageRegion.getElements();
 				for (IJavaElement pkg : pkgs) {
 					if (pkg.getParent().equals(element)) {
-						return true;
+						return requiresFullRefresh(true);
 					}
 				}
 				return false;
@@ -1009,13 +1034,13 @@ protected boolean isAffectedByOpenable(IJavaElementDelta delta, IJavaElement ele
 			this.changeCollector = collector;
 			return false;
 		} else {
-			return collector.needsRefresh();
+			return requiresFullRefresh(collector.needsRefresh());
 		}
 	} else if (element instanceof ClassFile) {
 		switch (delta.getKind()) {
 			case IJavaElementDelta.REMOVED:
 				IOpenable o = (IOpenable) element;
-				return this.files.get(o) != null;
+				return requiresFullRefresh(this.files.get(o) != null);
 			case IJavaElementDelta.ADDED:
 				IType type = ((ClassFile)element).getType();
 				String typeName = type.getElementName();
@@ -1023,7 +1048,7 @@ protected boolean isAffectedByOpenable(IJavaElementDelta delta, IJavaElement ele
 					|| subtypesIncludeSupertypeOf(type)
 					|| this.missingTypes.contains(typeName)) {
 
-					return true;
+					return requiresFullRefresh(true);
 				}
 				break;
 			case IJavaElementDelta.CHANGED:
@@ -1036,7 +1061,7 @@ protected boolean isAffectedByOpenable(IJavaElementDelta delta, IJavaElement ele
 						boolean hasSupertypeChange = (delta.getFlags() & IJavaElementDelta.F_SUPER_TYPES) > 0;
 						if ((hasVisibilityChange && hasSupertype(type.getElementName()))
 								|| (hasSupertypeChange && includesTypeOrSupertype(type))) {
-							return true;
+							return requiresFullRefresh(true);
 						}
 					}
 				}
@@ -1260,9 +1285,17 @@ public synchronized void refresh(IProgressMonitor monitor) throws JavaModelExcep
 			}
 		}
 
+		if (refreshIncrementally()) {
+			if (DEBUG) {
+				trace("REFRESHED TYPE HIERARCHY INCREMENTALLY in " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return;
+		}
 		compute();
 		initializeRegions();
 		this.needsRefresh = false;
+		// the changes made while no listener is registered are not seen
+		this.needsFullRefresh = !isListening();
 		this.changeCollector = null;
 
 		if (DEBUG) {
@@ -1285,6 +1318,103 @@ public synchronized void refresh(IProgressMonitor monitor) throws JavaModelExcep
 	}
 }
 
+/*
+ * Applies the changes collected since this hierarchy was computed without recomputing it.
+ * Only the removal of types that have no subtypes in this hierarchy and the modifier changes
+ * that keep the visibility and the kind of a type are applied this way. Nothing needs to be done
+ * if no change affected this hierarchy while it was listening to the deltas.
+ * Returns false and leaves this hierarchy untouched if some changes cannot be applied.
+ */
+private boolean refreshIncrementally() throws JavaModelException {
+	if (!INCREMENTAL_REFRESH || this.needsFullRefresh || getClass() != TypeHierarchy.class)
+		return false;
+	ChangeCollector collector = this.changeCollector;
+	if (collector == null) {
+		// the deltas are only seen while listeners are registered, and only for primary compilation units
+		if (isListening() && !this.needsRefresh && hasOnlyPrimaryWorkingCopies()) {
+			return true; // no change since the hierarchy was computed
+		}
+		return false;
+	}
+
+	List<IType> removedTypes = new ArrayList<>();
+	Map<IType, Integer> changedFlags = new HashMap<>();
+	for (Entry<IJavaElement, SimpleDelta> entry : collector.getChanges().entrySet()) {
+		if (!(entry.getKey() instanceof IType type) || !contains(type) || type.equals(this.focusType))
+			return false; // may change the resolution of other types
+		SimpleDelta delta = entry.getValue();
+		switch (delta.getKind()) {
+			case IJavaElementDelta.REMOVED:
+				Set<IType> subtypes = this.typeToSubtypes.get(type);
+				if (subtypes != null && !subtypes.isEmpty())
+					return false; // the subtypes may now have missing super types
+				removedTypes.add(type);
+				break;
+			case IJavaElementDelta.CHANGED:
+				if (delta.getFlags() != IJavaElementDelta.F_MODIFIERS)
+					return false;
+				int newFlags = type.getFlags();
+				int mask = Flags.AccPublic | Flags.AccProtected | Flags.AccPrivate
+						| Flags.AccInterface | Flags.AccAnnotation | Flags.AccEnum | Flags.AccRecord;
+				if (((getCachedFlags(type) ^ newFlags) & mask) != 0)
+					return false; // may change the resolution of the subtypes
+				changedFlags.put(type, Integer.valueOf(newFlags));
+				break;
+			default:
+				return false; // added types need to be resolved
+		}
+	}
+
+	for (IType type : removedTypes) {
+		IType superclass = this.classToSuperclass.remove(type);
+		if (superclass != null) {
+			Set<IType> subtypes = this.typeToSubtypes.get(superclass);
+			if (subtypes != null) subtypes.remove(type);
+		}
+		IType[] superinterfaces = this.typeToSuperInterfaces.remove(type);
+		if (superinterfaces != null) {
+			for (IType superinterface : superinterfaces) {
+				Set<IType> subtypes = this.typeToSubtypes.get(superinterface);
+				if (subtypes != null) subtypes.remove(type);
+			}
+		}
+		this.typeToSubtypes.remove(type);
+		this.rootClasses.remove(type);
+		this.interfaces.remove(type);
+		this.typeFlags.remove(type);
+		IOpenable openable = ((JavaElement) type).getOpenableParent();
+		ArrayList<IType> types = this.files.get(openable);
+		if (types != null) {
+			types.remove(type);
+			if (types.isEmpty())
+				this.files.remove(openable);
+		}
+	}
+	this.typeFlags.putAll(changedFlags);
+	this.needsRefresh = false;
+	this.changeCollector = null;
+	return true;
+}
+
+private synchronized boolean isListening() {
+	return this.changeListeners != null && !this.changeListeners.isEmpty();
+}
+
+private boolean hasOnlyPrimaryWorkingCopies() {
+	if (this.focusType != null) {
+		ICompilationUnit focusCU = this.focusType.getCompilationUnit();
+		if (focusCU != null && !focusCU.isPrimary())
+			return false;
+	}
+	if (this.workingCopies != null) {
+		for (ICompilationUnit workingCopy : this.workingCopies) {
+			if (!workingCopy.isPrimary())
+				return false;
+		}
+	}
+	return true;
+}
+
 /**
  * @see ITypeHierarchy
  */
@@ -1299,6 +1429,8 @@ public synchronized void removeTypeHierarchyChangedListener(ITypeHierarchyChange
 	// deregister from JavaCore on last listener removed
 	if (listeners.isEmpty()) {
 		JavaCore.removeElementChangedListener(this);
+		// the changes made until a listener is added again are not seen
+		this.needsFullRefresh = true;
 	}
 }
 /**
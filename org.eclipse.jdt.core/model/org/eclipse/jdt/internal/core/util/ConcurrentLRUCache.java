@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.util;
+
+import java.text.NumberFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The <code>ConcurrentLRUCache</code> is a thread-safe cache that stores a finite number of elements.
+ * Unlike {@link LRUCache}, reading from the cache does not reorder any queue, so it does not
+ * need to be synchronized by the clients.
+ *
+ * <p>The eviction order is an approximation of the least recently used order based on the CLOCK
+ * (second chance) algorithm: every read marks the entry as referenced, and when space is needed,
+ * referenced entries are given a second chance while unreferenced ones are discarded in insertion order.
+ *
+ * <p>As in {@link LRUCache}, objects can take up a variable amount of cache space by implementing
+ * the <code>ILRUCacheable</code> interface.
+ *
+ * @see org.eclipse.jdt.internal.core.util.ILRUCacheable
+ */
+public class ConcurrentLRUCache<K, V> {
+
+	private static final class Entry<K, V> {
+		final K key;
+		final V value;
+		final int space;
+		volatile boolean referenced;
+
+		Entry(K key, V value, int space) {
+			this.key = key;
+			this.value = value;
+			this.space = space;
+		}
+	}
+
+	/**
+	 * Map for fast random access to cache entries
+	 */
+	private final Map<K, Entry<K, V>> entryTable;
+
+	/**
+	 * Entries in insertion order, scanned by the clock hand when space is needed.
+	 * May contain entries that have already been removed from the entry table.
+	 */
+	private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger clockSize = new AtomicInteger();
+
+	/**
+	 * Amount of cache space used so far
+	 */
+	private final AtomicInteger currentSpace = new AtomicInteger();
+
+	/**
+	 * Maximum space allowed in cache
+	 */
+	private final int spaceLimit;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new cache.
+	 * @param size Size of Cache
+	 */
+	public ConcurrentLRUCache(int size) {
+		this.spaceLimit = size;
+		this.entryTable = new ConcurrentHashMap<>();
+	}
+
+	public double fillingRatio() {
+		return this.currentSpace.get() * 100.0 / this.spaceLimit;
+	}
+
+	/**
+	 * Flushes all entries from the cache.
+	 */
+	public void flush() {
+		synchronized (this.clock) {
+			this.entryTable.clear();
+			this.clock.clear();
+			this.clockSize.set(0);
+			this.currentSpace.set(0);
+		}
+	}
+
+	/**
+	 * Flushes the given entry from the cache.  Does nothing if entry does not
+	 * exist in cache.
+	 *
+	 * @param key Key of object to flush
+	 */
+	public void flush(K key) {
+		Entry<K, V> entry = this.entryTable.remove(key);
+		if (entry != null) {
+			this.currentSpace.addAndGet(-entry.space);
+		}
+	}
+
+	/**
+	 * Answers the value in the cache at the given key.
+	 * If the value is not in the cache, returns null
+	 *
+	 * @param key Hash table key of object to retrieve
+	 * @return Retrieved object, or null if object does not exist
+	 */
+	public V get(K key) {
+		Entry<K, V> entry = this.entryTable.get(key);
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		if (!entry.referenced) {
+			entry.referenced = true;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Returns the amount of space that is current used in the cache.
+	 */
+	public int getCurrentSpace() {
+		return this.currentSpace.get();
+	}
+
+	/**
+	 * Returns the maximum amount of space available in the cache.
+	 */
+	public int getSpaceLimit() {
+		return this.spaceLimit;
+	}
+
+	/**
+	 * Returns the number of reads that found a value in the cache.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns the number of reads that did not find a value in the cache.
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns the number of entries that were discarded to make room for new entries.
+	 */
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * Answers the value in the cache at the given key.
+	 * If the value is not in the cache, returns null
+	 *
+	 * This function does not mark the entry as recently used.
+	 */
+	public V peek(K key) {
+		Entry<K, V> entry = this.entryTable.get(key);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * Sets the value in the cache at the given key. Returns the value.
+	 *
+	 * @param key Key of object to add.
+	 * @param value Value of object to add.
+	 * @return added value.
+	 */
+	public V put(K key, V value) {
+		int space = spaceFor(value);
+		if (space > this.spaceLimit) {
+			flush(key);
+			return value;
+		}
+		Entry<K, V> entry = new Entry<>(key, value, space);
+		Entry<K, V> oldEntry = this.entryTable.put(key, entry);
+		this.currentSpace.addAndGet(oldEntry == null ? space : space - oldEntry.space);
+		this.clock.offer(entry);
+		this.clockSize.incrementAndGet();
+		if (this.currentSpace.get() > this.spaceLimit || this.clockSize.get() > 2 * this.entryTable.size() + 16) {
+			makeSpace();
+		}
+		return value;
+	}
+
+	/**
+	 * Moves the clock hand until the cache fits in its space limit.
+	 */
+	private void makeSpace() {
+		synchronized (this.clock) {
+			int secondChances = this.clockSize.get();
+			Entry<K, V> entry;
+			while ((this.currentSpace.get() > this.spaceLimit || this.clockSize.get() > 2 * this.entryTable.size() + 16)
+					&& (entry = this.clock.poll()) != null) {
+				this.clockSize.decrementAndGet();
+				if (this.entryTable.get(entry.key) != entry) {
+					continue; // stale entry: flushed or replaced since it was queued
+				}
+				if (entry.referenced && secondChances-- > 0) {
+					entry.referenced = false;
+					this.clock.offer(entry);
+					this.clockSize.incrementAndGet();
+					continue;
+				}
+				if (this.entryTable.remove(entry.key, entry)) {
+					this.currentSpace.addAndGet(-entry.space);
+					this.evictions.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the space taken by the given value.
+	 */
+	protected int spaceFor(V value) {
+		if (value instanceof ILRUCacheable) {
+			return ((ILRUCacheable) value).getCacheFootprint();
+		} else {
+			return 1;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return toStringFillingRation("ConcurrentLRUCache"); //$NON-NLS-1$
+	}
+
+	public String toStringFillingRation(String cacheName) {
+		StringBuilder buffer = new StringBuilder(cacheName);
+		buffer.append('[');
+		buffer.append(getSpaceLimit());
+		buffer.append("]: "); //$NON-NLS-1$
+		buffer.append(NumberFormat.getInstance().format(fillingRatio()));
+		buffer.append("% full, "); //$NON-NLS-1$
+		buffer.append(getHits());
+		buffer.append(" hits, "); //$NON-NLS-1$
+		buffer.append(getMisses());
+		buffer.append(" misses, "); //$NON-NLS-1$
+		buffer.append(getEvictions());
+		buffer.append(" evictions"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
@@ -15,13 +15,18 @@ package org.eclipse.jdt.internal.core.index;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.parser.ScannerHelper;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
@@ -47,6 +52,13 @@ static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.char
 protected DiskIndex diskIndex;
 protected MemoryIndex memoryIndex;
 
+// entries of a category grouped by the prefix of their key, see queryByKeyPrefix(...)
+private final Map<String, SoftReference<HashtableOfObject>> entriesByKeyPrefix = new ConcurrentHashMap<>();
+// entries of some categories sorted by their key ignoring case, see querySorted(...)
+private final Map<String, SoftReference<ResolvedEntry[]>> sortedEntries = new ConcurrentHashMap<>();
+private record ResolvedEntry(char[] word, String[] documentNames) {
+}
+
 /**
  * Mask used on match rule for indexing.
  */
@@ -122,6 +134,8 @@ public Index(IndexLocation location, String containerPath, boolean reuseExisting
 	if (reuseExistingFile) this.separator = this.diskIndex.separator;
 }
 public void addIndexEntry(char[] category, char[] key, String containerRelativePath) {
+	this.entriesByKeyPrefix.clear();
+	this.sortedEntries.clear();
 	this.memoryIndex.addIndexEntry(category, key, containerRelativePath);
 }
 public String containerRelativePath(String documentPath) {
@@ -184,6 +198,150 @@ public EntryResult[] query(char[][] categories, char[] key, int matchRule) throw
 	}
 	return entryResults;
 }
+/**
+ * Returns the entries of the given category whose key starts with the given prefix immediately followed by
+ * the given separator, or null if no matches are found.
+ * <p>
+ * The first query on a category reads all its entries and groups them by the part of their key that precedes
+ * the separator. Subsequent queries on this category are answered from these groups until the index changes,
+ * which avoids reading the disk index once per prefix when many prefixes are queried in a row
+ * (e.g. the super type names queried when collecting all the subtypes of a type).
+ * </p>
+ */
+public EntryResult[] queryByKeyPrefix(char[] category, char[] prefix, char keySeparator) throws IOException {
+	String cacheKey = new String(category) + keySeparator;
+	SoftReference<HashtableOfObject> reference = this.entriesByKeyPrefix.get(cacheKey);
+	HashtableOfObject groups = reference == null ? null : reference.get();
+	if (groups == null) {
+		EntryResult[] entries = query(new char[][] {category}, null, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		if (this.monitor == null)
+			return null; // index got deleted since acquired
+		groups = groupByKeyPrefix(entries, keySeparator);
+		this.entriesByKeyPrefix.put(cacheKey, new SoftReference<>(groups));
+	}
+	ResolvedEntry[] group = (ResolvedEntry[]) groups.get(prefix);
+	if (group == null) return null;
+
+	EntryResult[] entryResults = new EntryResult[group.length];
+	for (int i = 0, length = group.length; i < length; i++) {
+		ResolvedEntry entry = group[i];
+		EntryResult result = new EntryResult(entry.word(), null);
+		for (String documentName : entry.documentNames())
+			result.addDocumentName(documentName);
+		entryResults[i] = result;
+	}
+	return entryResults;
+}
+private HashtableOfObject groupByKeyPrefix(EntryResult[] entries, char keySeparator) throws IOException {
+	HashtableOfObject lists = new HashtableOfObject(entries == null ? 3 : entries.length);
+	if (entries != null) {
+		for (EntryResult entry : entries) {
+			char[] word = entry.getWord();
+			int separatorIndex = CharOperation.indexOf(keySeparator, word);
+			char[] prefix = separatorIndex == -1 ? word : CharOperation.subarray(word, 0, separatorIndex);
+			@SuppressWarnings("unchecked")
+			List<ResolvedEntry> list = (List<ResolvedEntry>) lists.get(prefix);
+			if (list == null)
+				lists.put(prefix, list = new ArrayList<>(1));
+			list.add(new ResolvedEntry(word, entry.getDocumentNames(this)));
+		}
+	}
+	HashtableOfObject groups = new HashtableOfObject(lists.elementSize);
+	for (int i = 0, length = lists.keyTable.length; i < length; i++) {
+		if (lists.keyTable[i] != null) {
+			@SuppressWarnings("unchecked")
+			List<ResolvedEntry> list = (List<ResolvedEntry>) lists.valueTable[i];
+			groups.put(lists.keyTable[i], list.toArray(new ResolvedEntry[list.size()]));
+		}
+	}
+	return groups;
+}
+/**
+ * Returns the entries containing the given key in a group of categories, or null if no matches are found,
+ * like {@link #query(char[][], char[], int)} does.
+ * <p>
+ * The first query on a group of categories reads all their entries and sorts them by key ignoring case.
+ * Subsequent queries on these categories are answered from the sorted entries until the index changes:
+ * exact, prefix and camel case queries then only check the entries whose key starts with the same characters
+ * as the given key, instead of reading and checking all the keys of the categories from the disk index
+ * (e.g. the type names queried while typing in code completion).
+ * </p>
+ */
+public EntryResult[] querySorted(char[][] categories, char[] key, int matchRule) throws IOException {
+	int rule = matchRule & MATCH_RULE_INDEX_MASK;
+	if (key == null || (rule & SearchPattern.R_REGEXP_MATCH) != 0)
+		return query(categories, key, matchRule);
+
+	String cacheKey = new String(CharOperation.concatWith(categories, '/'));
+	SoftReference<ResolvedEntry[]> reference = this.sortedEntries.get(cacheKey);
+	ResolvedEntry[] entries = reference == null ? null : reference.get();
+	if (entries == null) {
+		EntryResult[] results = query(categories, null, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		if (this.monitor == null)
+			return null; // index got deleted since acquired
+		entries = sortIgnoringCase(results);
+		this.sortedEntries.put(cacheKey, new SoftReference<>(entries));
+	}
+
+	// the keys matching the given key start with this prefix ignoring case
+	char[] prefix;
+	if ((rule & (SearchPattern.R_PATTERN_MATCH | SearchPattern.R_SUBSTRING_MATCH | SearchPattern.R_SUBWORD_MATCH)) != 0) {
+		prefix = CharOperation.NO_CHAR;
+	} else if ((rule & (SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH)) != 0) {
+		prefix = key.length == 0 ? CharOperation.NO_CHAR : new char[] {key[0]};
+	} else {
+		prefix = key;
+	}
+	List<EntryResult> results = new ArrayList<>();
+	for (int i = indexOfFirst(entries, prefix), length = entries.length; i < length; i++) {
+		ResolvedEntry entry = entries[i];
+		char[] word = entry.word();
+		if (!CharOperation.prefixEquals(prefix, word, false))
+			break;
+		if (isMatch(key, word, rule)) {
+			EntryResult result = new EntryResult(word, null);
+			for (String documentName : entry.documentNames())
+				result.addDocumentName(documentName);
+			results.add(result);
+		}
+	}
+	return results.isEmpty() ? null : results.toArray(new EntryResult[results.size()]);
+}
+private ResolvedEntry[] sortIgnoringCase(EntryResult[] results) throws IOException {
+	if (results == null)
+		return new ResolvedEntry[0];
+	ResolvedEntry[] entries = new ResolvedEntry[results.length];
+	for (int i = 0, length = results.length; i < length; i++) {
+		EntryResult result = results[i];
+		entries[i] = new ResolvedEntry(result.getWord(), result.getDocumentNames(this));
+	}
+	Arrays.sort(entries, (entry1, entry2) -> compareIgnoringCase(entry1.word(), entry2.word()));
+	return entries;
+}
+/*
+ * Returns the index of the first entry whose word is not lower than the given prefix ignoring case.
+ */
+private static int indexOfFirst(ResolvedEntry[] entries, char[] prefix) {
+	int low = 0;
+	int high = entries.length;
+	while (low < high) {
+		int middle = (low + high) >>> 1;
+		if (compareIgnoringCase(entries[middle].word(), prefix) < 0)
+			low = middle + 1;
+		else
+			high = middle;
+	}
+	return low;
+}
+private static int compareIgnoringCase(char[] word1, char[] word2) {
+	for (int i = 0, length = Math.min(word1.length, word2.length); i < length; i++) {
+		char c1 = ScannerHelper.toLowerCase(word1[i]);
+		char c2 = ScannerHelper.toLowerCase(word2[i]);
+		if (c1 != c2)
+			return c1 - c2;
+	}
+	return word1.length - word2.length;
+}
 /**
  * Returns the document names that contain the given substring, if null then returns all of them.
  */
@@ -206,12 +364,16 @@ public String[] queryDocumentNames(String substring) throws IOException {
 	return documentNames;
 }
 public void remove(String containerRelativePath) {
+	this.entriesByKeyPrefix.clear();
+	this.sortedEntries.clear();
 	this.memoryIndex.remove(containerRelativePath);
 }
 /**
  * Reset memory and disk indexes.
  */
 public void reset() throws IOException {
+	this.entriesByKeyPrefix.clear();
+	this.sortedEntries.clear();
 	this.memoryIndex = new MemoryIndex();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
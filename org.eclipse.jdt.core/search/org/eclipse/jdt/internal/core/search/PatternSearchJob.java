@@ -335,7 +335,7 @@ static class IndexMatch {
 	}
 }
 
-static class ParallelSearchMonitor extends NullProgressMonitor {
+public static class ParallelSearchMonitor extends NullProgressMonitor {
 	private volatile boolean canceled;
 	private final IProgressMonitor original;
 
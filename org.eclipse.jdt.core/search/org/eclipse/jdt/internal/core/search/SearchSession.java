@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.search.matching.JavaSearchNameEnvironment;
+
+/**
+ * A search session keeps the name environments used to locate matches warm across
+ * the searches performed by the current thread while the session is open.
+ * <p>
+ * Consecutive searches on an unchanged Java model (e.g. the searches of a refactoring)
+ * then don't compute the classpath locations of the same projects again, and the archives
+ * of these projects stay open until the session is closed. The name environments are
+ * dropped as soon as the Java model changes.
+ * </p>
+ * <pre>
+ * try (SearchSession session = SearchSession.open()) {
+ *     engine.search(...);
+ *     engine.search(...);
+ * }
+ * </pre>
+ */
+public final class SearchSession implements AutoCloseable, IElementChangedListener {
+
+	private static final ThreadLocal<SearchSession> CURRENT = new ThreadLocal<>();
+
+	private record Key(IJavaProject project, List<IJavaProject> referencedProjects, List<ICompilationUnit> workingCopies) {
+	}
+
+	private final Map<Key, INameEnvironment> nameEnvironments = new HashMap<>();
+	private volatile boolean javaModelChanged;
+	private int openCount = 1;
+
+	private int hits;
+	private int misses;
+
+	private SearchSession() {
+		// use open()
+	}
+
+	/**
+	 * Opens a search session for the current thread, or joins the session that is already open.
+	 * The returned session must be closed by the same thread.
+	 */
+	public static SearchSession open() {
+		SearchSession session = CURRENT.get();
+		if (session != null) {
+			session.openCount++;
+			return session;
+		}
+		session = new SearchSession();
+		CURRENT.set(session);
+		JavaCore.addElementChangedListener(session, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		// keep the archives open between the searches of the session
+		JavaModelManager.getJavaModelManager().cacheZipFiles(session);
+		return session;
+	}
+
+	/**
+	 * Returns the session open in the current thread, or <code>null</code> if none.
+	 */
+	public static SearchSession current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Returns the name environment on the given project and referenced projects,
+	 * creating it if it was not created by a previous search of this session or if the Java model changed since.
+	 * The returned name environment must not be cleaned up by the caller.
+	 */
+	public INameEnvironment getNameEnvironment(IJavaProject project, List<IJavaProject> referencedProjects, ICompilationUnit[] workingCopies) {
+		if (this.javaModelChanged) {
+			this.javaModelChanged = false;
+			cleanup();
+		}
+		Key key = new Key(project, List.copyOf(referencedProjects), workingCopies == null ? List.of() : Arrays.asList(workingCopies));
+		INameEnvironment environment = this.nameEnvironments.get(key);
+		if (environment == null) {
+			this.misses++;
+			environment = JavaSearchNameEnvironment.createWithReferencedProjects(project, referencedProjects, workingCopies);
+			this.nameEnvironments.put(key, environment);
+		} else {
+			this.hits++;
+		}
+		return environment;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		this.javaModelChanged = true;
+	}
+
+	private void cleanup() {
+		for (INameEnvironment environment : this.nameEnvironments.values()) {
+			environment.cleanup();
+		}
+		this.nameEnvironments.clear();
+	}
+
+	@Override
+	public void close() {
+		if (--this.openCount > 0)
+			return;
+		CURRENT.remove();
+		JavaCore.removeElementChangedListener(this);
+		if (BasicSearchEngine.VERBOSE) {
+			trace("Search session closed: " + this.hits + " name environments reused, " + this.misses + " created"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		cleanup();
+		JavaModelManager.getJavaModelManager().flushZipFiles(this);
+	}
+}
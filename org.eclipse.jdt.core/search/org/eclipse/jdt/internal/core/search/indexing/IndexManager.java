@@ -258,6 +258,26 @@ public void addSource(IFile resource, IPath containerPath, SourceElementParser p
 	IndexLocation indexLocation = computeIndexLocation(containerPath);
 	scheduleDocumentIndexing(document, containerPath, indexLocation, participant);
 }
+/**
+ * Trigger addition of several resources of the same container to its index.
+ * All resources are indexed by a single job instead of one job per resource.
+ * Note: the actual operation is performed in background
+ */
+public void addSources(List<IFile> resources, IPath containerPath, SourceElementParser parser) {
+	if (JavaCore.getPlugin() == null) return;
+	if (resources.size() == 1) {
+		addSource(resources.get(0), containerPath, parser);
+		return;
+	}
+	SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+	SearchDocument[] documents = new SearchDocument[resources.size()];
+	for (int i = 0; i < documents.length; i++) {
+		documents[i] = participant.getDocument(resources.get(i).getFullPath().toString());
+		documents[i].setParser(parser);
+	}
+	IndexLocation indexLocation = computeIndexLocation(containerPath);
+	scheduleDocumentsIndexing(documents, containerPath, indexLocation, participant);
+}
 /**
  * Removes unused indexes from disk.
  */
@@ -1287,6 +1307,44 @@ public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath
 	});
 }
 
+private void scheduleDocumentsIndexing(final SearchDocument[] searchDocuments, IPath container, final IndexLocation indexLocation, final SearchParticipant searchParticipant) {
+	request(new IndexRequest(container, this) {
+		@Override
+		public boolean execute(IProgressMonitor progressMonitor) {
+			if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
+
+			Index index = getIndex(this.containerPath, indexLocation, true, /*reuse index file*/ true /*create if none*/);
+			if (index == null) return true;
+			final Path indexPath = indexLocation.getIndexPath();
+			for (SearchDocument searchDocument : searchDocuments) {
+				if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) break;
+				ReadWriteMonitor monitor = index.monitor;
+				if (monitor == null) return true; // index got deleted since acquired
+				/* ensure no concurrent write access to index, release it between documents so that searches are not starved */
+				try {
+					monitor.enterWrite(); // ask permission to write
+					indexDocument(searchDocument, searchParticipant, index, indexPath);
+				} finally {
+					monitor.exitWrite(); // free write lock
+				}
+				if (searchDocument.shouldIndexResolvedDocument()) {
+					indexResolvedDocument(searchDocument, searchParticipant, index, indexPath);
+				}
+			}
+			updateMetaIndex(index);
+			return true;
+		}
+		@Override
+		public String toString() {
+			return "indexing " + searchDocuments.length + " documents in " + this.containerPath; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		@Override
+		public boolean waitNeeded() {
+			return false;
+		}
+	});
+}
+
 @Override
 public synchronized String toString() {
 	StringBuilder buffer = new StringBuilder(10);
@@ -21,13 +21,19 @@ import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.zip.ZipFile;
 import org.eclipse.core.resources.IResource;
@@ -35,6 +41,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -81,6 +88,8 @@ import org.eclipse.jdt.internal.core.search.HierarchyScope;
 import org.eclipse.jdt.internal.core.search.IndexQueryRequestor;
 import org.eclipse.jdt.internal.core.search.IndexSelector;
 import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.PatternSearchJob.ParallelSearchMonitor;
+import org.eclipse.jdt.internal.core.search.SearchSession;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
 import org.eclipse.jdt.internal.core.util.ASTNodeFinder;
@@ -111,6 +120,12 @@ static {
 	}
 }
 
+/*
+ * Number of threads used to locate matches in several projects at once (e.g. -Dorg.eclipse.jdt.search_match_location_threads=4).
+ * Matches are located one project after the other if not set.
+ */
+public static int MATCH_LOCATION_THREAD_COUNT = Integer.getInteger("org.eclipse.jdt.search_match_location_threads", 1).intValue(); //$NON-NLS-1$
+
 // permanent state
 public SearchPattern pattern;
 public PatternLocator patternLocator;
@@ -130,6 +145,7 @@ public char[][][] allSuperTypeNames;
 public MatchLocatorParser parser;
 private Parser basicParser;
 public INameEnvironment nameEnvironment;
+private boolean sharedNameEnvironment; // owned by the current search session
 public NameLookup nameLookup;
 public LookupEnvironment lookupEnvironment;
 public HierarchyResolver hierarchyResolver;
@@ -157,6 +173,11 @@ Map<JavaSearchPattern, Binding> bindingsByPattern;
 Map<String, Binding> bindingsByName;
 
 HashtableOfIntValues inTypeOccurrencesCounts = new HashtableOfIntValues();
+
+// Possible matches discarded by scanning their source instead of parsing them
+private PossibleMatchFilter possibleMatchFilter;
+int possibleMatchesScanned;
+int possibleMatchesDiscarded;
 // Cache for method handles
 HashSet<IMethod> methodHandles;
 private TypeBinding unitScopeTypeBinding = null; // cached
@@ -1220,7 +1241,8 @@ public void initialize(JavaProject project, int possibleMatchSize) throws JavaMo
 	// clean up name environment only if there are several possible match as it is reused
 	// when only one possible match (bug 58581)
 	if (this.nameEnvironment != null && possibleMatchSize != 1) {
-		this.nameEnvironment.cleanup();
+		if (!this.sharedNameEnvironment)
+			this.nameEnvironment.cleanup();
 		this.unitScope = null; // don't leak a reference to the cleaned-up name environment
 	}
 
@@ -1233,7 +1255,11 @@ public void initialize(JavaProject project, int possibleMatchSize) throws JavaMo
 			projects.add(focusProject);
 		}
 	}
-	this.nameEnvironment = JavaSearchNameEnvironment.createWithReferencedProjects(project, projects, this.workingCopies);
+	SearchSession session = SearchSession.current();
+	this.sharedNameEnvironment = session != null;
+	this.nameEnvironment = session != null
+		? session.getNameEnvironment(project, projects, this.workingCopies)
+		: JavaSearchNameEnvironment.createWithReferencedProjects(project, projects, this.workingCopies);
 
 	// create lookup environment
 	Map<String, String> map = project.getOptions(true);
@@ -1262,6 +1288,8 @@ public void initialize(JavaProject project, int possibleMatchSize) throws JavaMo
 	this.matchesToProcess = new PossibleMatch[possibleMatchSize];
 
 	this.lookupEnvironment.addResolutionListener(this.patternLocator);
+
+	this.possibleMatchFilter = PossibleMatchFilter.newFilter(this.pattern, this.options);
 }
 private boolean skipMatch(JavaProject javaProject, PossibleMatch possibleMatch) {
 	if (this.options.sourceLevel >= ClassFileConstants.JDK9) {
@@ -1269,6 +1297,13 @@ private boolean skipMatch(JavaProject javaProject, PossibleMatch possibleMatch)
 		if (pModuleName != null && this.lookupEnvironment.getModule(pModuleName) == null)
 			return true;
 	}
+	if (this.possibleMatchFilter != null) {
+		this.possibleMatchesScanned++;
+		if (!this.possibleMatchFilter.mayContainMatch(possibleMatch)) {
+			this.possibleMatchesDiscarded++;
+			return true;
+		}
+	}
 	return false;
 }
 protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMatches, int start, int length) throws CoreException {
@@ -1391,6 +1426,8 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		this.progressWorked += expected-length;
 		this.progressMonitor.worked( expected-length);
 	}
+	this.possibleMatchesScanned = 0;
+	this.possibleMatchesDiscarded = 0;
 	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
 	for (int index = 0; index < length;) {
 		int max = Math.min(MAX_AT_ONCE, length - index);
@@ -1398,6 +1435,100 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		index += max;
 	}
 	this.patternLocator.clear();
+	if (BasicSearchEngine.VERBOSE && this.possibleMatchFilter != null) {
+		trace("Possible matches discarded without parsing in " + javaProject.getElementName() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+				+ this.possibleMatchesDiscarded + "/" + this.possibleMatchesScanned); //$NON-NLS-1$
+	}
+}
+/*
+ * Whether the possible matches of different projects can be located at the same time,
+ * each project with its own lookup environment.
+ */
+private boolean canLocateMatchesInParallel() {
+	return MATCH_LOCATION_THREAD_COUNT > 1
+			&& getClass() == MatchLocator.class
+			&& JavaSearchDelegateDiscovery.getInstance() == null
+			&& IParallelizable.isParallelSearchSupported(this.scope)
+			&& IParallelizable.isParallelSearchSupported(this.pattern)
+			// these patterns remember the elements already reported
+			&& !(this.pattern instanceof DeclarationOfAccessedFieldsPattern)
+			&& !(this.pattern instanceof DeclarationOfReferencedMethodsPattern)
+			&& !(this.pattern instanceof DeclarationOfReferencedTypesPattern);
+}
+/*
+ * Matches located in a project by a separate match locator, and the progress they account for.
+ */
+private record LocatedMatches(List<SearchMatch> matches, int worked) {
+}
+/*
+ * Locates the matches of the given project in a separate match locator running in the given pool.
+ * The matches are collected so that they can be reported in the order of the projects.
+ */
+private Future<LocatedMatches> submitMatchLocation(ForkJoinPool pool, ParallelSearchMonitor monitor, JavaProject javaProject, PossibleMatchSet matchSet, int expected) {
+	return pool.submit(() -> {
+		List<SearchMatch> matches = new ArrayList<>();
+		if (monitor.isCanceled())
+			return new LocatedMatches(matches, expected);
+		SearchRequestor collector = new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) {
+				matches.add(match);
+			}
+		};
+		MatchLocator locator = new MatchLocator(this.pattern, collector, this.scope, monitor);
+		locator.workingCopies = this.workingCopies;
+		locator.allSuperTypeNames = this.allSuperTypeNames;
+		locator.handleFactory = new HandleFactory();
+		locator.bindingsByPattern = new HashMap<>();
+		locator.bindingsByName = new HashMap<>();
+		locator.progressStep = Integer.MAX_VALUE; // progress is reported with the matches
+		locator.patternLocator.initializePolymorphicSearch(locator, this.patternLocator);
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		try {
+			manager.cacheZipFiles(locator);
+			locator.locateMatches(javaProject, matchSet, expected);
+		} catch (JavaModelException e) {
+			// problem with classpath in this project -> skip it
+		} finally {
+			if (locator.nameEnvironment != null)
+				locator.nameEnvironment.cleanup();
+			manager.flushZipFiles(locator);
+		}
+		return new LocatedMatches(matches, expected);
+	});
+}
+/*
+ * Reports the matches of the projects located so far, in the order of the projects, and forgets them.
+ * Waits for the locations of the first projects until no more than the given number of projects
+ * are pending, so that the matches of many projects are not held at the same time.
+ */
+private void reportMatchLocations(Deque<Future<LocatedMatches>> matchLocations, int maxPending, ParallelSearchMonitor monitor) throws CoreException {
+	Future<LocatedMatches> matchLocation;
+	while ((matchLocation = matchLocations.peek()) != null && (matchLocations.size() > maxPending || matchLocation.isDone())) {
+		matchLocations.poll();
+		LocatedMatches located;
+		try {
+			located = matchLocation.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e);
+		}
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		// the matches were already filtered and traced by the locator that found them
+		for (SearchMatch match : located.matches()) {
+			this.requestor.acceptSearchMatch(match);
+		}
+		if (this.progressMonitor != null) {
+			this.progressWorked += located.worked();
+			this.progressMonitor.worked(located.worked());
+		}
+	}
 }
 /**
  * Locate the matches in the given files and report them using the search requestor.
@@ -1439,6 +1570,9 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 	JavaModelManager manager = JavaModelManager.getJavaModelManager();
 	this.bindingsByPattern = new HashMap<>();
 	this.bindingsByName = new HashMap<>();
+	ForkJoinPool matchLocationPool = null;
+	Deque<Future<LocatedMatches>> matchLocations = null;
+	ParallelSearchMonitor parallelMonitor = null;
 	try {
 		// optimize access to zip files during search operation
 		manager.cacheZipFiles(this);
@@ -1456,6 +1590,18 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 
 		JavaProject previousJavaProject = null;
 		PossibleMatchSet matchSet = new PossibleMatchSet();
+		if (canLocateMatchesInParallel()) {
+			int parallelism = MATCH_LOCATION_THREAD_COUNT;
+			// see JavaModelManager#saving(ISaveContext) for why the common pool is not used
+			matchLocationPool = new ForkJoinPool(parallelism,
+					pool -> new ForkJoinWorkerThread(pool) {
+						// anonymous subclass to access protected constructor
+					}, null, false);
+			matchLocations = new ArrayDeque<>();
+			parallelMonitor = new ParallelSearchMonitor(this.progressMonitor == null ? new NullProgressMonitor() : this.progressMonitor);
+			// a lazily initialized scope must not be initialized by several locators at the same time
+			((IParallelizable) this.scope).initBeforeSearch(parallelMonitor);
+		}
 		Util.sort(searchDocuments, new Util.Comparer() {
 			@Override
 			public int compare(Object a, Object b) {
@@ -1514,13 +1660,20 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 			if (!javaProject.equals(previousJavaProject)) {
 				// locate matches in previous project
 				if (previousJavaProject != null) {
-					try {
-						locateMatches(previousJavaProject, matchSet, i-displayed);
+					if (matchLocationPool != null) {
+						matchLocations.add(submitMatchLocation(matchLocationPool, parallelMonitor, previousJavaProject, matchSet, i-displayed));
 						displayed = i;
-					} catch (JavaModelException e) {
-						// problem with classpath in this project -> skip it
+						matchSet = new PossibleMatchSet();
+						reportMatchLocations(matchLocations, 2 * matchLocationPool.getParallelism(), parallelMonitor);
+					} else {
+						try {
+							locateMatches(previousJavaProject, matchSet, i-displayed);
+							displayed = i;
+						} catch (JavaModelException e) {
+							// problem with classpath in this project -> skip it
+						}
+						matchSet.reset();
 					}
-					matchSet.reset();
 				}
 				previousJavaProject = javaProject;
 			}
@@ -1537,21 +1690,32 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 
 		// last project
 		if (previousJavaProject != null) {
-			try {
-				locateMatches(previousJavaProject, matchSet, docsLength-displayed);
-			} catch (JavaModelException e) {
-				// problem with classpath in last project -> ignore
+			if (matchLocationPool != null) {
+				matchLocations.add(submitMatchLocation(matchLocationPool, parallelMonitor, previousJavaProject, matchSet, docsLength-displayed));
+			} else {
+				try {
+					locateMatches(previousJavaProject, matchSet, docsLength-displayed);
+				} catch (JavaModelException e) {
+					// problem with classpath in last project -> ignore
+				}
 			}
 		}
+		if (matchLocations != null) {
+			reportMatchLocations(matchLocations, 0, parallelMonitor);
+		}
 
 		if (this.searchPackageDeclaration) {
 			locatePackageDeclarations(searchParticipant, javaModelProjects);
 		}
 
 	} finally {
+		if (matchLocationPool != null) {
+			parallelMonitor.setCanceled(true); // stop the locations that were not reported
+			matchLocationPool.shutdown();
+		}
 		if (this.progressMonitor != null)
 			this.progressMonitor.done();
-		if (this.nameEnvironment != null)
+		if (this.nameEnvironment != null && !this.sharedNameEnvironment)
 			this.nameEnvironment.cleanup();
 		this.unitScope = null;
 		manager.flushZipFiles(this);
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.JavaFeature;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
+import org.eclipse.jdt.internal.core.CompilationUnit;
+
+/**
+ * Discards the possible matches that cannot contain a match by scanning their source,
+ * so that they are not parsed.
+ * <p>
+ * A top level type of another package can only be referenced using its package name,
+ * either in an import or in a qualified reference, unless it is imported with its module.
+ * Thus a compilation unit in which the last segment of this package name doesn't appear,
+ * possibly with unicode escapes, cannot reference the type. This doesn't hold when module
+ * imports or compact compilation units, which implicitly import the module
+ * <code>java.base</code>, are enabled, so the filter is disabled then.
+ * </p>
+ */
+class PossibleMatchFilter {
+
+	private static final boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.disable_search_prefilter"); //$NON-NLS-1$
+	private static final char[] UNICODE_ESCAPE = "\\u".toCharArray(); //$NON-NLS-1$
+	private static final char[] MODULE = "module".toCharArray(); //$NON-NLS-1$
+
+	private final char[] packageSegment;
+	private final Scanner scanner;
+
+	private PossibleMatchFilter(char[] packageSegment, CompilerOptions options) {
+		this.packageSegment = packageSegment;
+		this.scanner = new Scanner(true /*comments*/, false /*whitespaces*/, false /*nls*/, options.sourceLevel,
+				null /*taskTags*/, null /*taskPriorities*/, true /*taskCaseSensitive*/, options.enablePreviewFeatures);
+	}
+
+	/*
+	 * Returns a filter for the given pattern, or null if the possible matches of this pattern cannot be filtered.
+	 */
+	static PossibleMatchFilter newFilter(SearchPattern pattern, CompilerOptions options) {
+		if (!ENABLED || pattern.getClass() != TypeReferencePattern.class)
+			return null;
+		if (JavaFeature.MODULE_IMPORTS.isSupported(options)
+				|| JavaFeature.IMPLICIT_CLASSES_AND_INSTANCE_MAIN_METHODS.isSupported(options))
+			return null; // types may be referenced without their package name
+		TypeReferencePattern typePattern = (TypeReferencePattern) pattern;
+		char[] packageName = typePattern.topLevelTypePackageName;
+		if (packageName == null || packageName.length == 0 || !typePattern.isCaseSensitive())
+			return null; // types of the default package are only visible in this package
+		if (CharOperation.equals(packageName, CharOperation.concatWith(TypeConstants.JAVA_LANG, '.')))
+			return null; // implicitly imported
+		int lastDot = CharOperation.lastIndexOf('.', packageName);
+		return new PossibleMatchFilter(CharOperation.subarray(packageName, lastDot + 1, -1), options);
+	}
+
+	/*
+	 * Returns whether the given possible match may contain a match and thus needs to be parsed.
+	 */
+	boolean mayContainMatch(PossibleMatch possibleMatch) {
+		if (!(possibleMatch.openable instanceof CompilationUnit))
+			return true;
+		char[] contents = possibleMatch.getContents();
+		if (contents == null || contents.length == 0)
+			return true;
+		boolean hasUnicodeEscapes = CharOperation.indexOf(UNICODE_ESCAPE, contents, true) >= 0;
+		if (!hasUnicodeEscapes && CharOperation.indexOf(this.packageSegment, contents, true) < 0)
+			return false;
+
+		// check that the segment is not only part of other identifiers, the scanner translating the unicode escapes
+		this.scanner.setSource(contents);
+		this.scanner.resetTo(0, contents.length - 1); // also forgets the comments of the previous source
+		try {
+			TerminalToken token;
+			TerminalToken previousToken = null;
+			while ((token = this.scanner.getNextToken()) != TerminalToken.TokenNameEOF) {
+				switch (token) {
+					case TokenNameIdentifier:
+						char[] identifier = this.scanner.getCurrentIdentifierSource();
+						if (CharOperation.equals(this.packageSegment, identifier))
+							return true;
+						if (previousToken == TerminalToken.TokenNameimport && CharOperation.equals(MODULE, identifier))
+							return true; // a module import, even if the feature is not enabled
+						break;
+					case TokenNamemodule:
+						if (previousToken == TerminalToken.TokenNameimport)
+							return true;
+						break;
+					case TokenNameCOMMENT_LINE:
+					case TokenNameCOMMENT_BLOCK:
+					case TokenNameCOMMENT_JAVADOC:
+					case TokenNameCOMMENT_MARKDOWN:
+						// javadoc references are found by the parser
+						int start = this.scanner.startPosition;
+						int end = this.scanner.currentPosition;
+						if (CharOperation.indexOf(this.packageSegment, contents, true, start, end) >= 0
+								|| (hasUnicodeEscapes && CharOperation.indexOf(UNICODE_ESCAPE, contents, true, start, end) >= 0))
+							return true;
+						continue;
+					default:
+						break;
+				}
+				previousToken = token;
+			}
+		} catch (InvalidInputException e) {
+			return true; // let the parser deal with it
+		} finally {
+			this.scanner.setSource((char[]) null);
+		}
+		return false;
+	}
+}
@@ -43,6 +43,12 @@ public static final int ONLY_SUPER_CLASSES = 2; // used for hierarchy with a cla
 
 protected static char[][] CATEGORIES = { SUPER_REF };
 
+private static final boolean GROUP_INDEX_ENTRIES = !Boolean.getBoolean("org.eclipse.jdt.disable_super_type_reference_groups"); //$NON-NLS-1$
+
+// set when many super type names are queried in a row, e.g. to find all the subtypes of a type:
+// exact queries are then answered from the index entries grouped by super type name (see Index#queryByKeyPrefix)
+public boolean groupIndexEntries;
+
 public static char[] createIndexKey(
 	int modifiers,
 	char[] packageName,
@@ -256,6 +262,8 @@ public EntryResult[] queryIn(Index index) throws IOException {
 	// cannot include the superQualification since it may not exist in the index
 	switch(getMatchMode()) {
 		case R_EXACT_MATCH :
+			if (this.groupIndexEntries && GROUP_INDEX_ENTRIES && this.superSimpleName != null && isCaseSensitive())
+				return index.queryByKeyPrefix(SUPER_REF, this.superSimpleName, SEPARATOR);
 			// do a prefix query with the superSimpleName
 			matchRule &= ~R_EXACT_MATCH;
 			matchRule |= R_PREFIX_MATCH;
@@ -43,6 +43,10 @@ public boolean secondary = false;
 
 protected static char[][] CATEGORIES = { TYPE_DECL };
 
+// answer prefix queries from the type names of the index sorted in memory, see Index#querySorted(...)
+// opt-in, as the sorted type names of every index in the scope are kept in memory until it is short
+public static boolean SORTED_INDEX_QUERIES = Boolean.getBoolean("org.eclipse.jdt.enable_sorted_type_name_queries"); //$NON-NLS-1$
+
 // want to save space by interning the package names for each match
 static PackageNameSet internedPackageNames = new PackageNameSet(1001);
 static class PackageNameSet {
@@ -350,6 +354,10 @@ public EntryResult[] queryIn(Index index) throws IOException {
 			break;
 	}
 
+	// only the queries narrowed down to the keys starting with the given key benefit from the sorted type names
+	if (SORTED_INDEX_QUERIES && key != null
+			&& (matchRule & (R_PATTERN_MATCH | R_REGEXP_MATCH | R_SUBSTRING_MATCH | R_SUBWORD_MATCH)) == 0)
+		return index.querySorted(getIndexCategories(), key, matchRule);
 	return index.query(getIndexCategories(), key, matchRule); // match rule is irrelevant when the key is null
 }
 @Override
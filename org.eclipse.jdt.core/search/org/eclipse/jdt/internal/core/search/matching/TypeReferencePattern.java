@@ -24,6 +24,9 @@ public class TypeReferencePattern extends IntersectingPattern {
 	protected char[] qualification;
 	protected char[] simpleName;
 
+	/* Package name of the searched type if it is a top level type given by its handle, null otherwise */
+	char[] topLevelTypePackageName;
+
 	protected char[] currentCategory;
 
 	/* Optimization: case where simpleName == null */
@@ -105,6 +108,9 @@ public class TypeReferencePattern extends IntersectingPattern {
 		this(qualification, simpleName,matchRule);
 		storeTypeSignaturesAndArguments(type);
 	    this.fineGrain = limitTo & 0xFFFFFFF0;
+		if (type.getDeclaringType() == null) {
+			this.topLevelTypePackageName = type.getPackageFragment().getElementName().toCharArray();
+		}
 	}
 
 	TypeReferencePattern(int matchRule) {